@@ -16,5 +16,20 @@ cd sample
 ./test-proxy.sh
 ./test-response-contracts.sh
 ./test-generator-defaults.sh
+./test-incremental-generation.sh
+./test-skip-unchanged.sh
+./test-validate-only.sh
+./test-daemon.sh
+./test-multi-generate.sh
+./test-parallel-rendering.sh
+./test-generation-profile.sh
+./test-messagepack-keys.sh
+./test-messagepack-collections.sh
+./test-file-uploads.sh
+./test-direct-command-binding.sh
+./test-precompiled-validation.sh
+./test-edge-validation.sh
+./test-response-cache.sh
+./test-request-coalescing.sh
 # ./test-fastendpoints.sh
 echo "✅ All tasks completed successfully!"
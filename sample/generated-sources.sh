@@ -0,0 +1,109 @@
+# Helpers of the sample tests that generate a fixture and check the generated C# sources.
+# Source it after setting FIXTURE, PACKAGE_NAME and OUTPUT_DIR; CURRENT names the generation the checks read.
+
+SAMPLE_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+ROOT_DIR="$(cd "$SAMPLE_DIR/.." && pwd)"
+OPENAPI_GENERATOR_JAR="$ROOT_DIR/cli/openapi-generator-cli.jar"
+YAVER_GENERATOR_JAR="${YAVER_GENERATOR_JAR:-$ROOT_DIR/yaver-codegen/target/yaver-codegen.jar}"
+
+cleanup() {
+  rm -rf "$OUTPUT_DIR"
+}
+trap cleanup EXIT
+
+if [[ ! -f "$YAVER_GENERATOR_JAR" ]]; then
+  echo "Generator JAR not found: $YAVER_GENERATOR_JAR" >&2
+  echo "Build it with: mvn -f yaver-codegen/pom.xml clean package" >&2
+  exit 2
+fi
+
+# Runs the generator into $OUTPUT_DIR/<name> and logs to $OUTPUT_DIR/<name>.log.
+# Usage: run_generator <name> [--generator=<name>] [--fixture=<path>] [",key=value..."]
+run_generator() {
+  local name="$1" generator="yaver-cs-gateway" fixture="$FIXTURE"
+  shift
+  while [[ "${1:-}" == --generator=* || "${1:-}" == --fixture=* ]]; do
+    case "$1" in
+      --generator=*) generator="${1#--generator=}" ;;
+      --fixture=*) fixture="${1#--fixture=}" ;;
+    esac
+    shift
+  done
+  java -cp "$YAVER_GENERATOR_JAR:$OPENAPI_GENERATOR_JAR" \
+    org.openapitools.codegen.OpenAPIGenerator generate \
+    -g "$generator" \
+    -i "$fixture" \
+    -o "$OUTPUT_DIR/$name" \
+    --additional-properties=packageName="$PACKAGE_NAME$*" \
+    > "$OUTPUT_DIR/$name.log" 2>&1
+}
+
+generate() {
+  run_generator "$@" || {
+    cat "$OUTPUT_DIR/$1.log" >&2
+    exit 1
+  }
+}
+
+# Fails unless the generation fails and logs the message.
+# Usage: generate_fails <name> <message> [run_generator options]
+generate_fails() {
+  local name="$1" message="$2"
+  shift 2
+  if run_generator "$name" "$@"; then
+    echo "[$name] generation should fail with: $message" >&2
+    exit 1
+  fi
+  grep -qF -- "$message" "$OUTPUT_DIR/$name.log" || {
+    cat "$OUTPUT_DIR/$name.log" >&2
+    exit 1
+  }
+}
+
+# Prints the lines of a generated class, from its declaration to the closing brace at its indentation.
+class_body() {
+  local name="$1" file
+  file="$(grep -rl --include='*.cs' "class $name\b" "$OUTPUT_DIR/$CURRENT")"
+  tr -d '\r' < "$file" | awk -v pattern="class $name( |$)" '
+    !inside && $0 ~ pattern { inside = 1; match($0, /^[ \t]*/); indent = substr($0, 1, RLENGTH) }
+    inside { print }
+    inside && $0 == indent "}" { exit }
+  '
+}
+
+# grep -q would stop reading early; under pipefail the SIGPIPE of class_body then fails a matching check.
+expect() {
+  local name="$1" pattern="$2"
+  if ! class_body "$name" | grep -E -- "$pattern" > /dev/null; then
+    echo "[$CURRENT] $name does not match: $pattern" >&2
+    class_body "$name" >&2
+    exit 1
+  fi
+}
+
+reject() {
+  local name="$1" pattern="$2"
+  if class_body "$name" | grep -E -- "$pattern" > /dev/null; then
+    echo "[$CURRENT] $name unexpectedly matches: $pattern" >&2
+    class_body "$name" >&2
+    exit 1
+  fi
+}
+
+# Fails when a record or class with this name was generated.
+reject_type() {
+  local name="$1"
+  if grep -rEq --include='*.cs' "(class|record) $name\b" "$OUTPUT_DIR/$CURRENT"; then
+    echo "[$CURRENT] $name should not be generated." >&2
+    exit 1
+  fi
+}
+
+# Fails unless a generated file contains the pattern.
+expect_source() {
+  local pattern="$1"
+  if ! grep -rEq --include='*.cs' -- "$pattern" "$OUTPUT_DIR/$CURRENT"; then
+    echo "[$CURRENT] no generated file matches: $pattern" >&2
+    exit 1
+  fi
+}
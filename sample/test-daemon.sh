@@ -0,0 +1,79 @@
+#!/bin/bash
+set -euo pipefail
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+ROOT_DIR="$(cd "$SCRIPT_DIR/.." && pwd)"
+OPENAPI_GENERATOR_JAR="$ROOT_DIR/cli/openapi-generator-cli.jar"
+YAVER_GENERATOR_JAR="${YAVER_GENERATOR_JAR:-$ROOT_DIR/yaver-codegen/target/yaver-codegen.jar}"
+FIXTURE="$SCRIPT_DIR/fixtures/response-contracts.yaml"
+INVALID_FIXTURE="$SCRIPT_DIR/fixtures/invalid-multiple-success-responses.yaml"
+OUTPUT_DIR="$(mktemp -d "${TMPDIR:-/tmp}/yaver-daemon.XXXXXX")"
+GENERATORS=(yaver-proxy yaver-cs-gateway yaver-cs-fastendpoints yaver-fetch-client yaver-ts-angular)
+
+cleanup() {
+  rm -rf "$OUTPUT_DIR"
+}
+trap cleanup EXIT
+
+if [[ ! -f "$YAVER_GENERATOR_JAR" ]]; then
+  echo "Generator JAR not found: $YAVER_GENERATOR_JAR" >&2
+  echo "Build it with: mvn -f yaver-codegen/pom.xml clean package" >&2
+  exit 2
+fi
+
+job() {
+  local id="$1"
+  local generator="$2"
+  local spec="$3"
+  printf '{"id":"%s","generator":"%s","inputSpec":"%s","outputDir":"%s","additionalProperties":{"packageName":"Yaver.Daemon.Features"}}\n' \
+    "$id" "$generator" "$spec" "$OUTPUT_DIR/daemon/$id"
+}
+
+# Every generator twice, so the second round runs on cached templates, plus one failing job.
+{
+  for round in 1 2; do
+    for generator in "${GENERATORS[@]}"; do
+      job "$generator-$round" "$generator" "$FIXTURE"
+    done
+  done
+  job "invalid" yaver-cs-gateway "$INVALID_FIXTURE"
+  echo '{"command":"shutdown"}'
+} | java -cp "$YAVER_GENERATOR_JAR:$OPENAPI_GENERATOR_JAR" dev.yaver.codegen.YaverDaemon \
+  >"$OUTPUT_DIR/responses.jsonl" 2>"$OUTPUT_DIR/daemon.log" || {
+    cat "$OUTPUT_DIR/daemon.log" >&2
+    exit 1
+  }
+
+for generator in "${GENERATORS[@]}"; do
+  java -cp "$YAVER_GENERATOR_JAR:$OPENAPI_GENERATOR_JAR" \
+    org.openapitools.codegen.OpenAPIGenerator generate \
+    -g "$generator" \
+    -i "$FIXTURE" \
+    -o "$OUTPUT_DIR/cli/$generator" \
+    --additional-properties=packageName=Yaver.Daemon.Features \
+    > "$OUTPUT_DIR/$generator.log" 2>&1 || {
+      cat "$OUTPUT_DIR/$generator.log" >&2
+      exit 1
+    }
+
+  for round in 1 2; do
+    if ! grep -Fq "\"id\":\"$generator-$round\",\"status\":\"ok\"" "$OUTPUT_DIR/responses.jsonl"; then
+      echo "Daemon job $generator-$round did not succeed:" >&2
+      cat "$OUTPUT_DIR/responses.jsonl" >&2
+      exit 1
+    fi
+    if ! diff -r -x .openapi-generator "$OUTPUT_DIR/cli/$generator" "$OUTPUT_DIR/daemon/$generator-$round"; then
+      echo "Daemon output of $generator-$round differs from the CLI output." >&2
+      exit 1
+    fi
+  done
+done
+
+if ! grep -Fq '"id":"invalid","status":"failed"' "$OUTPUT_DIR/responses.jsonl" \
+  || ! grep -Fq "must declare exactly one concrete 2xx response" "$OUTPUT_DIR/responses.jsonl"; then
+  echo "Daemon did not report the failing job:" >&2
+  cat "$OUTPUT_DIR/responses.jsonl" >&2
+  exit 1
+fi
+
+echo "Daemon regression OK"
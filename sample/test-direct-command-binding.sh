@@ -0,0 +1,33 @@
+#!/bin/bash
+set -euo pipefail
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+FIXTURE="$SCRIPT_DIR/fixtures/direct-command-binding.yaml"
+PACKAGE_NAME=Yaver.DirectCommandBinding.Features
+OUTPUT_DIR="$(mktemp -d "${TMPDIR:-/tmp}/yaver-direct-command-binding.XXXXXX")"
+source "$SCRIPT_DIR/generated-sources.sh"
+
+generate defaults
+CURRENT=defaults
+expect UpdateWidgetEndpoint 'HandleAsync\(UpdateWidgetRequest req,'
+expect UpdateWidgetEndpoint 'await req.ToCommand\(\)'
+reject UpdateWidgetCommand '\[FromBody\]'
+
+generate direct ",directCommandBinding=true"
+CURRENT=direct
+expect UpdateWidgetEndpoint 'Endpoint<'
+expect UpdateWidgetEndpoint 'Service\.UpdateWidgetCommand'
+expect UpdateWidgetEndpoint 'Validator<.*\.Service\.UpdateWidgetCommandValidator>\(\);'
+expect UpdateWidgetEndpoint 'var result = await req$'
+reject UpdateWidgetEndpoint 'ToCommand'
+expect UpdateWidgetCommand '\[FromBody\]'
+expect UpdateWidgetCommand '\[FromHeader\("X-Request-Source"\)\]'
+reject_type UpdateWidgetRequest
+reject_type UpdateWidgetRequestValidator
+reject_type UpdateWidgetRequestMapper
+# x-yaver-direct-command-binding: false keeps the mapped request.
+expect GetWidgetEndpoint 'await req.ToCommand\(\)'
+expect GetWidgetRequestMapper 'ToCommand\(this GetWidgetRequest source\)'
+reject GetWidgetCommand '\[FromBody\]'
+
+echo "Direct command binding regression OK"
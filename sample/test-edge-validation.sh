@@ -0,0 +1,49 @@
+#!/bin/bash
+set -euo pipefail
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+FIXTURE="$SCRIPT_DIR/fixtures/direct-command-binding.yaml"
+PACKAGE_NAME=Yaver.EdgeValidation.Features
+OUTPUT_DIR="$(mktemp -d "${TMPDIR:-/tmp}/yaver-edge-validation.XXXXXX")"
+source "$SCRIPT_DIR/generated-sources.sh"
+
+generate defaults
+CURRENT=defaults
+expect UpdateWidgetCommandValidator 'RuleFor\(x => x\.WidgetId\)'
+reject UpdateWidgetCommand 'PreValidated'
+
+generate edge ",edgeValidationOnly=true"
+CURRENT=edge
+reject_type UpdateWidgetCommandValidator
+expect UpdateWidgetRequestValidator 'RuleFor\(x => x\.WidgetId\)'
+expect UpdateWidgetCommand 'public bool PreValidated \{ get; set; \} = true;'
+expect FindWidgetsRequestValidator 'RuleFor\(x => x\.Name\)'
+# Both sides only declare the flag on commands with a body, the ones a service validates.
+reject FindWidgetsCommand 'PreValidated'
+expect UpdateWidgetRequestMapper 'MapperIgnoreTarget\(nameof\(UpdateWidgetCommand\.PreValidated\)\)'
+
+# Directly bound commands are the request, so their validator stays unless precompiled checks replace it.
+generate direct ",edgeValidationOnly=true,directCommandBinding=true"
+CURRENT=direct
+expect UpdateWidgetCommandValidator 'RuleFor\(x => x\.WidgetId\)'
+expect UpdateWidgetCommand '\[DontBind\]'
+
+generate direct-precompiled ",edgeValidationOnly=true,directCommandBinding=true,precompiledValidation=true"
+CURRENT=direct-precompiled
+reject_type UpdateWidgetCommandValidator
+expect UpdateWidgetRequestPreValidator 'IPreProcessor<[A-Za-z.]+\.Service\.UpdateWidgetCommand>'
+
+generate proxy-defaults --generator=yaver-proxy
+CURRENT=proxy-defaults
+reject UpdateWidgetCommand 'PreValidated'
+reject UpdateWidgetCommandValidator 'PreValidate'
+
+generate proxy-trusting --generator=yaver-proxy ",trustPreValidatedCommands=true"
+CURRENT=proxy-trusting
+expect UpdateWidgetCommand 'public bool PreValidated \{ get; set; \}'
+reject FindWidgetsCommand 'PreValidated'
+expect UpdateWidgetCommandValidator 'override bool PreValidate\('
+expect UpdateWidgetCommandValidator '!context\.InstanceToValidate\.PreValidated'
+expect UpdateWidgetRequestMapper 'MapperIgnoreTarget\(nameof\(UpdateWidgetCommand\.PreValidated\)\)'
+
+echo "Edge validation regression OK"
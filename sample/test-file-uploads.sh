@@ -0,0 +1,52 @@
+#!/bin/bash
+set -euo pipefail
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+FIXTURE="$SCRIPT_DIR/fixtures/file-uploads.yaml"
+PACKAGE_NAME=Yaver.FileUploads.Features
+OUTPUT_DIR="$(mktemp -d "${TMPDIR:-/tmp}/yaver-file-uploads.XXXXXX")"
+source "$SCRIPT_DIR/generated-sources.sh"
+
+generate defaults
+CURRENT=defaults
+expect UploadAvatarCommand 'public FileData [A-Za-z]+ \{ get; set; \} = FileData.Empty;'
+expect UploadAvatarRequestMapper 'await FileMappingBaseMapper.MapAsync\(source\.[A-Za-z]+, cancellationToken\)'
+expect UploadAvatarRequestMapper '\[MapperIgnoreTarget\(nameof\(UploadAvatarCommand\.[A-Za-z]+\)\)\]'
+reject UploadAvatarRequestMapper 'FileMappingBaseMapper.Map\('
+expect UploadAvatarEndpoint 'var command = await req.ToCommandAsync\(ct\).ConfigureAwait\(false\);'
+reject UploadAvatarEndpoint 'req.ToCommand\(\)'
+expect UploadArchiveCommand 'public FileChunks [A-Za-z]+ \{ get; set; \} = FileChunks.Empty;'
+expect UploadArchiveRequestMapper 'FileMappingBaseMapper.MapChunksAsync\(source\.[A-Za-z]+, maxBytes: 52428800, cancellationToken: cancellationToken\)'
+reject UploadArchiveRequestMapper 'FileData'
+# The limit stops the body while it is read, before the form is buffered.
+expect UploadArchiveEndpoint 'new Microsoft\.AspNetCore\.Mvc\.RequestSizeLimitAttribute\(52494336\)'
+expect UploadArchiveEndpoint 'RequestFormLimitsAttribute \{ MultipartBodyLengthLimit = 52428800 \}'
+expect UploadArchiveEndpoint 'await command.ReleaseFileBuffersWith\(HttpContext\)'
+expect UploadArchiveCommandFileBuffers 'RegisterForDispose\(command.[A-Za-z]+ \?\? FileChunks.Empty\);'
+reject UploadAvatarEndpoint 'RequestSizeLimit'
+if ! grep -rq --include='Maps.cs' 'public record FileChunks : IDisposable' "$OUTPUT_DIR/$CURRENT"; then
+  echo "[$CURRENT] Maps.cs does not declare FileChunks for the streamed operation." >&2
+  exit 1
+fi
+expect UploadLogoCommand 'public FileData '
+
+generate streamed ",fileStreaming=true,fileUploadMaxBytes=1048576"
+CURRENT=streamed
+expect UploadAvatarCommand 'public FileChunks '
+expect UploadAvatarRequestMapper 'FileMappingBaseMapper.MapChunksAsync\(source\.[A-Za-z]+, maxBytes: 1048576,'
+expect UploadArchiveRequestMapper 'FileMappingBaseMapper.MapChunksAsync\(source\.[A-Za-z]+, maxBytes: 52428800,'
+expect UploadLogoCommand 'public FileData '
+expect UploadLogoRequestMapper 'FileMappingBaseMapper.MapAsync\(source\.[A-Za-z]+, cancellationToken\)'
+
+generate pooled ",pooledFileBuffers=true"
+CURRENT=pooled
+if ! grep -rq --include='Maps.cs' 'ArrayPool<byte>.Shared.Rent' "$OUTPUT_DIR/$CURRENT"; then
+  echo "[$CURRENT] Maps.cs does not rent FileData buffers from ArrayPool." >&2
+  exit 1
+fi
+expect UploadAvatarEndpoint 'await command.ReleaseFileBuffersWith\(HttpContext\)'
+expect UploadAvatarCommandFileBuffers 'RegisterForDispose\(command.[A-Za-z]+ \?\? FileData.Empty\);'
+expect UploadArchiveEndpoint 'await command.ReleaseFileBuffersWith\(HttpContext\)'
+expect UploadLogoEndpoint 'await command.ReleaseFileBuffersWith\(HttpContext\)'
+
+echo "File upload mapping regression OK"
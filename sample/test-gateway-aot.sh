@@ -187,12 +187,15 @@ CustomerDetail dto = new()
 
 Result<CustomerDetail> envelope = Result.Success(dto);
 
+GeneratedDtoMessagePackResolver.EnsureAllFormattersResolved();
+Console.WriteLine("Closed MessagePack resolver covers every generated DTO, enum, collection and result type.");
+
 IFormatterResolver resolver = CompositeResolver.Create(
   new IFormatterResolver[]
   {
     YaverResultTypedMessagePackResolver<CustomerDetail>.Instance,
     YaverResultMessagePackResolver.Instance,
-    GeneratedDtoMessagePackResolver.Instance
+    GeneratedDtoMessagePackResolver.Closed
   });
 
 MessagePackSerializerOptions options = MessagePackSerializerOptions.Standard.WithResolver(resolver);
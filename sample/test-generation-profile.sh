@@ -0,0 +1,74 @@
+#!/bin/bash
+set -euo pipefail
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+ROOT_DIR="$(cd "$SCRIPT_DIR/.." && pwd)"
+OPENAPI_GENERATOR_JAR="$ROOT_DIR/cli/openapi-generator-cli.jar"
+YAVER_GENERATOR_JAR="${YAVER_GENERATOR_JAR:-$ROOT_DIR/yaver-codegen/target/yaver-codegen.jar}"
+OUTPUT_DIR="$(mktemp -d "${TMPDIR:-/tmp}/yaver-generation-profile.XXXXXX")"
+
+cleanup() {
+  rm -rf "$OUTPUT_DIR"
+}
+trap cleanup EXIT
+
+if [[ ! -f "$YAVER_GENERATOR_JAR" ]]; then
+  echo "Generator JAR not found: $YAVER_GENERATOR_JAR" >&2
+  echo "Build it with: mvn -f yaver-codegen/pom.xml clean package" >&2
+  exit 2
+fi
+
+assert_phases() {
+  local profile="$1"
+  shift
+
+  for phase in "$@"; do
+    if ! grep -q "\"phase\" : \"$phase\"" "$profile"; then
+      echo "Phase $phase is missing from $profile." >&2
+      cat "$profile" >&2
+      exit 1
+    fi
+  done
+}
+
+generate() {
+  local generator="$1"
+  local output="$OUTPUT_DIR/$generator"
+
+  java -cp "$YAVER_GENERATOR_JAR:$OPENAPI_GENERATOR_JAR" \
+    org.openapitools.codegen.OpenAPIGenerator generate \
+    -g "$generator" \
+    -i "$SCRIPT_DIR/swagger.yaml" \
+    -o "$output" \
+    --additional-properties=packageName=Yaver.Profile.Features \
+    --additional-properties=yaverProfile="$output.profile.json" \
+    > "$output.log" 2>&1 || {
+      cat "$output.log" >&2
+      exit 1
+    }
+
+  if [[ ! -f "$output.profile.json" ]]; then
+    echo "$generator did not write a generation profile." >&2
+    exit 1
+  fi
+  if ! grep -q "generation profile" "$output.log"; then
+    echo "$generator did not log the generation profile table." >&2
+    exit 1
+  fi
+}
+
+for generator in yaver-proxy yaver-cs-gateway; do
+  generate "$generator"
+  assert_phases "$OUTPUT_DIR/$generator.profile.json" \
+    beforeGeneration fromModel postProcessModels postProcessAllModels \
+    fromOperation postProcessOperationsWithModels responseContract render
+done
+
+for generator in yaver-cs-fastendpoints yaver-fetch-client yaver-ts-angular; do
+  generate "$generator"
+  assert_phases "$OUTPUT_DIR/$generator.profile.json" \
+    beforeGeneration fromModel postProcessModels postProcessAllModels \
+    fromOperation postProcessOperationsWithModels render
+done
+
+echo "Generation profile regression OK"
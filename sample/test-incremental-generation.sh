@@ -0,0 +1,56 @@
+#!/bin/bash
+set -euo pipefail
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+ROOT_DIR="$(cd "$SCRIPT_DIR/.." && pwd)"
+OPENAPI_GENERATOR_JAR="$ROOT_DIR/cli/openapi-generator-cli.jar"
+YAVER_GENERATOR_JAR="${YAVER_GENERATOR_JAR:-$ROOT_DIR/yaver-codegen/target/yaver-codegen.jar}"
+FIXTURE="$SCRIPT_DIR/fixtures/response-contracts.yaml"
+OUTPUT_DIR="$(mktemp -d "${TMPDIR:-/tmp}/yaver-incremental-generation.XXXXXX")"
+
+cleanup() {
+  rm -rf "$OUTPUT_DIR"
+}
+trap cleanup EXIT
+
+generate() {
+  java -cp "$YAVER_GENERATOR_JAR:$OPENAPI_GENERATOR_JAR" \
+    org.openapitools.codegen.OpenAPIGenerator generate \
+    -g yaver-cs-gateway \
+    -i "$FIXTURE" \
+    -o "$OUTPUT_DIR/gateway" \
+    --additional-properties=packageName=Yaver.Incremental.Features \
+    --additional-properties=incrementalGeneration=true \
+    > "$OUTPUT_DIR/generate.log" 2>&1 || {
+      cat "$OUTPUT_DIR/generate.log" >&2
+      exit 1
+    }
+}
+
+generate
+
+MANIFEST="$OUTPUT_DIR/gateway/.openapi-generator/yaver-incremental"
+if [[ ! -s "$MANIFEST" ]]; then
+  echo "Incremental manifest was not written: $MANIFEST" >&2
+  exit 1
+fi
+
+if ! grep -q "Api.cs$" "$MANIFEST"; then
+  echo "Incremental manifest does not track generated api files." >&2
+  exit 1
+fi
+
+# mtimes have one-second resolution on some file systems.
+sleep 1
+touch "$OUTPUT_DIR/marker"
+
+generate
+
+rewritten="$(find "$OUTPUT_DIR/gateway/src" -type f -name '*.cs' -newer "$OUTPUT_DIR/marker" -print)"
+if [[ -n "$rewritten" ]]; then
+  echo "Unchanged spec rewrote generated files:" >&2
+  echo "$rewritten" >&2
+  exit 1
+fi
+
+echo "Incremental generation regression OK"
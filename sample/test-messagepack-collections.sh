@@ -0,0 +1,67 @@
+#!/bin/bash
+set -euo pipefail
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+ROOT_DIR="$(cd "$SCRIPT_DIR/.." && pwd)"
+OPENAPI_GENERATOR_JAR="$ROOT_DIR/cli/openapi-generator-cli.jar"
+YAVER_GENERATOR_JAR="${YAVER_GENERATOR_JAR:-$ROOT_DIR/yaver-codegen/target/yaver-codegen.jar}"
+FIXTURE="$SCRIPT_DIR/fixtures/messagepack-collections.yaml"
+OUTPUT_DIR="$(mktemp -d "${TMPDIR:-/tmp}/yaver-messagepack-collections.XXXXXX")"
+
+cleanup() {
+  rm -rf "$OUTPUT_DIR"
+}
+trap cleanup EXIT
+
+if [[ ! -f "$YAVER_GENERATOR_JAR" ]]; then
+  echo "Generator JAR not found: $YAVER_GENERATOR_JAR" >&2
+  echo "Build it with: mvn -f yaver-codegen/pom.xml clean package" >&2
+  exit 2
+fi
+
+java -cp "$YAVER_GENERATOR_JAR:$OPENAPI_GENERATOR_JAR" \
+  org.openapitools.codegen.OpenAPIGenerator generate \
+  -g yaver-cs-gateway \
+  -i "$FIXTURE" \
+  -o "$OUTPUT_DIR/gateway" \
+  --additional-properties=packageName=Yaver.MessagePackCollections.Features \
+  > "$OUTPUT_DIR/gateway.log" 2>&1 || {
+    cat "$OUTPUT_DIR/gateway.log" >&2
+    exit 1
+  }
+
+resolver="$(find "$OUTPUT_DIR/gateway" -type f -name 'GeneratedDtoMessagePackResolver.cs' -print -quit)"
+if [[ -z "$resolver" ]]; then
+  echo "GeneratedDtoMessagePackResolver.cs was not generated." >&2
+  exit 1
+fi
+
+# Every generic instantiation reachable from the models and RPC results, outer and nested.
+for expected in \
+  'new DictionaryFormatter<string, List<Tag>>()' \
+  'new ListFormatter<Tag>()' \
+  'new ListFormatter<string>()' \
+  'new ListFormatter<List<int>>()' \
+  'new ListFormatter<int>()' \
+  'new DictionaryFormatter<string, Tag>()' \
+  'new ListFormatter<CatalogIndex.StatesEnum>()' \
+  'new GenericEnumFormatter<CatalogIndex.StatesEnum>()' \
+  'new NullableFormatter<Tag>()' \
+  'Check<Dictionary<string, List<Tag>>>(resolver, missing);' \
+  'Check<List<string>>(resolver, missing);' \
+  'Check<Tag?>(resolver, missing);'; do
+  if ! tr -d '\r' < "$resolver" | grep -Fq -- "$expected"; then
+    echo "GeneratedDtoMessagePackResolver is missing: $expected" >&2
+    cat "$resolver" >&2
+    exit 1
+  fi
+done
+
+duplicates="$(tr -d '\r' < "$resolver" | grep -E '^ +new .*\(\),$' | sort | uniq -d)"
+if [[ -n "$duplicates" ]]; then
+  echo "GeneratedDtoMessagePackResolver registers formatters twice:" >&2
+  echo "$duplicates" >&2
+  exit 1
+fi
+
+echo "MessagePack collection formatter regression OK"
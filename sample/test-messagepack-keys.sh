@@ -0,0 +1,84 @@
+#!/bin/bash
+set -euo pipefail
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+ROOT_DIR="$(cd "$SCRIPT_DIR/.." && pwd)"
+OPENAPI_GENERATOR_JAR="$ROOT_DIR/cli/openapi-generator-cli.jar"
+YAVER_GENERATOR_JAR="${YAVER_GENERATOR_JAR:-$ROOT_DIR/yaver-codegen/target/yaver-codegen.jar}"
+FIXTURE="$SCRIPT_DIR/fixtures/messagepack-key-order.yaml"
+GOLDEN="$SCRIPT_DIR/fixtures/messagepack-key-order.keys"
+REVISED_FIXTURE="$SCRIPT_DIR/fixtures/messagepack-key-order-revised.yaml"
+REVISED_GOLDEN="$SCRIPT_DIR/fixtures/messagepack-key-order-revised.keys"
+OUTPUT_DIR="$(mktemp -d "${TMPDIR:-/tmp}/yaver-messagepack-keys.XXXXXX")"
+
+cleanup() {
+  rm -rf "$OUTPUT_DIR"
+}
+trap cleanup EXIT
+
+if [[ ! -f "$YAVER_GENERATOR_JAR" ]]; then
+  echo "Generator JAR not found: $YAVER_GENERATOR_JAR" >&2
+  echo "Build it with: mvn -f yaver-codegen/pom.xml clean package" >&2
+  exit 2
+fi
+
+# Prints "<Model> Key(<n>) <Property>" for every MessagePack key of a model file.
+messagepack_keys() {
+  local file="$1"
+  local model
+  model="$(basename "$file" .cs)"
+  awk -v model="$model" '
+    { sub(/\r$/, "") }
+    match($0, /\[Key\([0-9]+\)\]/) { key = substr($0, RSTART + 1, RLENGTH - 2); next }
+    key != "" && $1 == "public" { print model " " key " " $3; key = "" }
+  ' "$file"
+}
+
+# Generates a fixture into the shared output directory and compares the KeyOrder keys with a golden file.
+check_keys() {
+  local fixture="$1" golden="$2"
+  java -cp "$YAVER_GENERATOR_JAR:$OPENAPI_GENERATOR_JAR" \
+    org.openapitools.codegen.OpenAPIGenerator generate \
+    -g yaver-cs-gateway \
+    -i "$fixture" \
+    -o "$OUTPUT_DIR/gateway" \
+    --additional-properties=packageName=Yaver.MessagePackKeys.Features \
+    > "$OUTPUT_DIR/gateway.log" 2>&1 || {
+      cat "$OUTPUT_DIR/gateway.log" >&2
+      exit 1
+    }
+
+  local model_file
+  model_file="$(find "$OUTPUT_DIR/gateway" -type f -name 'KeyOrder.cs' -print -quit)"
+  if [[ -z "$model_file" ]]; then
+    echo "KeyOrder.cs was not generated." >&2
+    exit 1
+  fi
+
+  messagepack_keys "$model_file" > "$OUTPUT_DIR/keys.txt"
+  if ! diff -u "$golden" "$OUTPUT_DIR/keys.txt"; then
+    echo "MessagePack [Key(n)] indices of KeyOrder changed ($(basename "$fixture"))." >&2
+    exit 1
+  fi
+}
+
+check_keys "$FIXTURE" "$GOLDEN"
+
+# The key manifest written by the first run keeps existing keys, appends new
+# properties and reserves the key of the removed one.
+MANIFEST="$OUTPUT_DIR/gateway/.openapi-generator/yaver-messagepack-keys"
+if [[ ! -f "$MANIFEST" ]]; then
+  echo "MessagePack key manifest was not written: $MANIFEST" >&2
+  exit 1
+fi
+
+check_keys "$REVISED_FIXTURE" "$REVISED_GOLDEN"
+for expected in "KeyOrder 8 retired gamma" "KeyOrder 9 live aardvark"; do
+  if ! grep -Fxq -- "$expected" "$MANIFEST"; then
+    echo "MessagePack key manifest is missing: $expected" >&2
+    cat "$MANIFEST" >&2
+    exit 1
+  fi
+done
+
+echo "MessagePack key order regression OK"
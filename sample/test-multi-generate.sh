@@ -0,0 +1,50 @@
+#!/bin/bash
+set -euo pipefail
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+ROOT_DIR="$(cd "$SCRIPT_DIR/.." && pwd)"
+OPENAPI_GENERATOR_JAR="$ROOT_DIR/cli/openapi-generator-cli.jar"
+YAVER_GENERATOR_JAR="${YAVER_GENERATOR_JAR:-$ROOT_DIR/yaver-codegen/target/yaver-codegen.jar}"
+FIXTURE="$SCRIPT_DIR/fixtures/response-contracts.yaml"
+OUTPUT_DIR="$(mktemp -d "${TMPDIR:-/tmp}/yaver-multi-generate.XXXXXX")"
+GENERATORS=(yaver-proxy yaver-cs-gateway yaver-cs-fastendpoints yaver-fetch-client yaver-ts-angular)
+
+cleanup() {
+  rm -rf "$OUTPUT_DIR"
+}
+trap cleanup EXIT
+
+if [[ ! -f "$YAVER_GENERATOR_JAR" ]]; then
+  echo "Generator JAR not found: $YAVER_GENERATOR_JAR" >&2
+  echo "Build it with: mvn -f yaver-codegen/pom.xml clean package" >&2
+  exit 2
+fi
+
+java -cp "$YAVER_GENERATOR_JAR:$OPENAPI_GENERATOR_JAR" dev.yaver.codegen.YaverMultiGenerate \
+  -i "$FIXTURE" \
+  -o "$OUTPUT_DIR/multi" \
+  -p packageName=Yaver.Multi.Features \
+  > "$OUTPUT_DIR/multi.log" 2>&1 || {
+    cat "$OUTPUT_DIR/multi.log" >&2
+    exit 1
+  }
+
+for generator in "${GENERATORS[@]}"; do
+  java -cp "$YAVER_GENERATOR_JAR:$OPENAPI_GENERATOR_JAR" \
+    org.openapitools.codegen.OpenAPIGenerator generate \
+    -g "$generator" \
+    -i "$FIXTURE" \
+    -o "$OUTPUT_DIR/cli/$generator" \
+    --additional-properties=packageName=Yaver.Multi.Features \
+    > "$OUTPUT_DIR/$generator.log" 2>&1 || {
+      cat "$OUTPUT_DIR/$generator.log" >&2
+      exit 1
+    }
+
+  if ! diff -r -x .openapi-generator "$OUTPUT_DIR/cli/$generator" "$OUTPUT_DIR/multi/$generator"; then
+    echo "Multi-target output of $generator differs from the CLI output." >&2
+    exit 1
+  fi
+done
+
+echo "Multi-target generation regression OK"
@@ -0,0 +1,53 @@
+#!/bin/bash
+set -euo pipefail
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+ROOT_DIR="$(cd "$SCRIPT_DIR/.." && pwd)"
+OPENAPI_GENERATOR_JAR="$ROOT_DIR/cli/openapi-generator-cli.jar"
+YAVER_GENERATOR_JAR="${YAVER_GENERATOR_JAR:-$ROOT_DIR/yaver-codegen/target/yaver-codegen.jar}"
+OUTPUT_DIR="$(mktemp -d "${TMPDIR:-/tmp}/yaver-parallel-rendering.XXXXXX")"
+
+cleanup() {
+  rm -rf "$OUTPUT_DIR"
+}
+trap cleanup EXIT
+
+if [[ ! -f "$YAVER_GENERATOR_JAR" ]]; then
+  echo "Generator JAR not found: $YAVER_GENERATOR_JAR" >&2
+  echo "Build it with: mvn -f yaver-codegen/pom.xml clean package" >&2
+  exit 2
+fi
+
+generate() {
+  local generator="$1"
+  local spec="$2"
+  local mode="$3"
+  local output="$OUTPUT_DIR/$generator-$(basename "$spec" .yaml)-$mode"
+
+  java -cp "$YAVER_GENERATOR_JAR:$OPENAPI_GENERATOR_JAR" \
+    org.openapitools.codegen.OpenAPIGenerator generate \
+    -g "$generator" \
+    -i "$spec" \
+    -o "$output" \
+    --additional-properties=packageName=Yaver.Parallel.Features \
+    --additional-properties=parallelRendering="$([[ "$mode" == parallel ]] && echo true || echo false)" \
+    > "$output.log" 2>&1 || {
+      cat "$output.log" >&2
+      exit 1
+    }
+}
+
+for spec in "$SCRIPT_DIR/swagger.yaml" "$SCRIPT_DIR/fixtures/response-contracts.yaml"; do
+  for generator in yaver-proxy yaver-cs-gateway; do
+    generate "$generator" "$spec" sequential
+    generate "$generator" "$spec" parallel
+
+    name="$generator-$(basename "$spec" .yaml)"
+    if ! diff -r -x .openapi-generator "$OUTPUT_DIR/$name-sequential" "$OUTPUT_DIR/$name-parallel"; then
+      echo "Parallel rendering changed the $generator output for $spec." >&2
+      exit 1
+    fi
+  done
+done
+
+echo "Parallel rendering regression OK"
@@ -0,0 +1,41 @@
+#!/bin/bash
+set -euo pipefail
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+FIXTURE="$SCRIPT_DIR/fixtures/direct-command-binding.yaml"
+PACKAGE_NAME=Yaver.PrecompiledValidation.Features
+OUTPUT_DIR="$(mktemp -d "${TMPDIR:-/tmp}/yaver-precompiled-validation.XXXXXX")"
+source "$SCRIPT_DIR/generated-sources.sh"
+
+generate defaults
+CURRENT=defaults
+expect UpdateWidgetRequestValidator 'RuleFor\(x => x\.WidgetId\)'
+expect UpdateWidgetEndpoint 'Validator<UpdateWidgetRequestValidator>\(\);'
+reject_type UpdateWidgetRequestPreValidator
+
+generate precompiled ",precompiledValidation=true"
+CURRENT=precompiled
+if [[ -z "$(find "$OUTPUT_DIR/$CURRENT" -type f -name 'GeneratedValidation.cs' -print -quit)" ]]; then
+  echo "[$CURRENT] GeneratedValidation.cs was not generated." >&2
+  exit 1
+fi
+reject_type UpdateWidgetRequestValidator
+expect UpdateWidgetRequestValidation 'public static bool TryValidate\(this UpdateWidgetRequest request, List<ValidationFailure> failures\)'
+expect UpdateWidgetRequestValidation 'if \(request\.WidgetId == Guid\.Empty\)'
+expect UpdateWidgetRequestValidation "'Widget Id' must not be empty\."
+expect UpdateWidgetRequestValidation 'if \(GeneratedValidation\.IsNull\(request\.[A-Za-z]+\)\)'
+reject UpdateWidgetRequestValidation 'RuleFor'
+expect UpdateWidgetRequestPreValidator 'IPreProcessor<UpdateWidgetRequest>'
+expect UpdateWidgetRequestBodyValidator 'SetValidator\(childValidator\)'
+expect UpdateWidgetEndpoint 'PreProcessor<UpdateWidgetRequestPreValidator>\(\);'
+expect UpdateWidgetEndpoint 'Validator<UpdateWidgetRequestBodyValidator>\(\);'
+reject UpdateWidgetEndpoint 'Validator<UpdateWidgetRequestValidator>'
+
+generate direct ",precompiledValidation=true,directCommandBinding=true"
+CURRENT=direct
+expect UpdateWidgetRequestValidation 'TryValidate\(this [A-Za-z.]+\.Service\.UpdateWidgetCommand request,'
+expect UpdateWidgetRequestPreValidator 'IPreProcessor<[A-Za-z.]+\.Service\.UpdateWidgetCommand>'
+expect UpdateWidgetEndpoint 'PreProcessor<UpdateWidgetRequestPreValidator>\(\);'
+reject UpdateWidgetEndpoint 'CommandValidator'
+
+echo "Precompiled validation regression OK"
@@ -0,0 +1,43 @@
+#!/bin/bash
+set -euo pipefail
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+FIXTURE="$SCRIPT_DIR/fixtures/response-cache.yaml"
+PACKAGE_NAME=Yaver.RequestCoalescing.Features
+OUTPUT_DIR="$(mktemp -d "${TMPDIR:-/tmp}/yaver-request-coalescing.XXXXXX")"
+source "$SCRIPT_DIR/generated-sources.sh"
+
+generate defaults
+CURRENT=defaults
+if [[ -n "$(find "$OUTPUT_DIR/$CURRENT" -type f -name 'GatewayRequestCoalescer.cs' -print -quit)" ]]; then
+  echo "[$CURRENT] GatewayRequestCoalescer.cs should only be generated for coalesced operations." >&2
+  exit 1
+fi
+reject GetCountryEndpoint 'GatewayRequestCoalescer'
+
+generate coalesced ",requestCoalescing=true"
+CURRENT=coalesced
+if [[ -z "$(find "$OUTPUT_DIR/$CURRENT" -type f -name 'GatewayRequestCoalescer.cs' -print -quit)" ]]; then
+  echo "[$CURRENT] GatewayRequestCoalescer.cs was not generated." >&2
+  exit 1
+fi
+# Cached operations only coalesce their cache misses.
+expect GetCountryEndpoint 'GatewayResponseCache\.TryGet<'
+expect GetCountryEndpoint '\.RunAsync\(GetCountryCommandKey\.From\(command\), \(\) => command\.RemoteExecuteAsync\(\), ct\)'
+expect_source 'record struct GetCountryCommandKey\(string Code, string\? Lang, string\? X[A-Za-z]*TraceId\)'
+expect_source 'record struct ListCountriesCommandKey\(string\? Regions\)'
+reject GetCountryPopulationEndpoint 'GatewayRequestCoalescer'
+# The key does not name the caller, so secured operations only coalesce when they opt in.
+reject GetMyCountryEndpoint 'GatewayRequestCoalescer'
+
+sed 's/^      operationId: getMyCountry$/&\n      x-yaver-coalesce: true/' "$FIXTURE" > "$OUTPUT_DIR/secured-opt-in.yaml"
+generate secured-opt-in --fixture="$OUTPUT_DIR/secured-opt-in.yaml" ",requestCoalescing=true"
+CURRENT=secured-opt-in
+expect GetMyCountryEndpoint '\.RunAsync\(GetMyCountryCommandKey\.From\(command\)'
+
+generate coalesced-direct ",requestCoalescing=true,directCommandBinding=true"
+CURRENT=coalesced-direct
+expect GetCountryEndpoint 'var command = req;'
+expect_source 'GetCountryCommandKey From\([A-Za-z.]+\.Service\.GetCountryCommand command\)'
+
+echo "Request coalescing regression OK"
@@ -0,0 +1,54 @@
+#!/bin/bash
+set -euo pipefail
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+FIXTURE="$SCRIPT_DIR/fixtures/response-cache.yaml"
+PACKAGE_NAME=Yaver.ResponseCache.Features
+OUTPUT_DIR="$(mktemp -d "${TMPDIR:-/tmp}/yaver-response-cache.XXXXXX")"
+source "$SCRIPT_DIR/generated-sources.sh"
+
+generate cached
+CURRENT=cached
+cache_file="$(find "$OUTPUT_DIR/$CURRENT" -type f -name 'GatewayResponseCache.cs' -print -quit)"
+if [[ -z "$cache_file" ]]; then
+  echo "[$CURRENT] GatewayResponseCache.cs was not generated." >&2
+  exit 1
+fi
+grep -q 'public const long SizeLimit = 67108864;' "$cache_file" || {
+  echo "[$CURRENT] GatewayResponseCache does not use the default size limit." >&2
+  exit 1
+}
+expect GetCountryEndpoint 'var cacheKey = GetCountryCacheKey\.From\(req\);'
+expect GetCountryEndpoint 'GatewayResponseCache\.TryGet<[A-Za-z.]*Country>\(cacheKey, out var cached\)'
+expect GetCountryEndpoint 'GatewayResponseCache\.Set\(cacheKey, result\.Value, TimeSpan\.FromSeconds\(300\)\);'
+expect_source 'record struct GetCountryCacheKey\(string Code, string\? Lang\)'
+expect_source 'record struct ListCountriesCacheKey\(string\? Regions\)'
+expect_source "string\.Join\('\\\\u001f', request\.Regions\)"
+expect ListCountriesEndpoint 'TimeSpan\.FromSeconds\(60\)'
+reject GetCountryPopulationEndpoint 'GatewayResponseCache'
+
+generate limited ",responseCacheSizeLimit=1048576"
+CURRENT=limited
+grep -rq 'public const long SizeLimit = 1048576;' "$OUTPUT_DIR/$CURRENT" || {
+  echo "[$CURRENT] responseCacheSizeLimit was not applied." >&2
+  exit 1
+}
+
+generate uncached --fixture="$SCRIPT_DIR/fixtures/direct-command-binding.yaml"
+CURRENT=uncached
+if [[ -n "$(find "$OUTPUT_DIR/$CURRENT" -type f -name 'GatewayResponseCache.cs' -print -quit)" ]]; then
+  echo "[$CURRENT] GatewayResponseCache.cs should only be generated for cached operations." >&2
+  exit 1
+fi
+
+# A cache without ttl is rejected instead of caching forever.
+sed '/^        ttl: 300$/d' "$FIXTURE" > "$OUTPUT_DIR/missing-ttl.yaml"
+generate_fails missing-ttl 'x-yaver-cache of operation getCountry: ttl is required' \
+  --fixture="$OUTPUT_DIR/missing-ttl.yaml"
+
+# A secured cache must vary by the caller, or every user gets the first user's response.
+sed 's/^      operationId: getCountry$/&\n      security:\n        - bearer: []/' "$FIXTURE" > "$OUTPUT_DIR/secured.yaml"
+generate_fails secured 'x-yaver-cache of operation getCountry: the operation is secured' \
+  --fixture="$OUTPUT_DIR/secured.yaml"
+
+echo "Response cache regression OK"
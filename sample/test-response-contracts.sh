@@ -19,6 +19,7 @@ SERVER_ERROR_FIXTURE="$SCRIPT_DIR/fixtures/invalid-server-error-response.yaml"
 MISSING_SUCCESS_FIXTURE="$SCRIPT_DIR/fixtures/invalid-missing-success-response.yaml"
 WILDCARD_SUCCESS_FIXTURE="$SCRIPT_DIR/fixtures/invalid-wildcard-success-response.yaml"
 SUCCESS_WITHOUT_SCHEMA_FIXTURE="$SCRIPT_DIR/fixtures/invalid-success-without-schema.yaml"
+MULTIPLE_VIOLATIONS_FIXTURE="$SCRIPT_DIR/fixtures/invalid-multiple-contract-violations.yaml"
 OUTPUT_DIR="$(mktemp -d "${TMPDIR:-/tmp}/yaver-response-contracts.XXXXXX")"
 YAVER_RESULT_VERSION="${YAVER_RESULT_VERSION:-2.3.1}"
 YAVER_RESULT_NUGET_SOURCE="${YAVER_RESULT_NUGET_SOURCE:-}"
@@ -49,7 +50,8 @@ generate() {
     --additional-properties=fastEndpointsVersion=8.2.0 \
     --additional-properties=riokMapperlyVersion=4.3.1 \
     --additional-properties=yaverResultVersion="$YAVER_RESULT_VERSION" \
-    --additional-properties=messagePackVersion=3.1.8
+    --additional-properties=messagePackVersion=3.1.8 \
+    "${@:4}"
 }
 
 assert_contains() {
@@ -80,6 +82,37 @@ assert_invalid() {
   assert_contains "$log" "$expected"
 }
 
+assert_collected_report() {
+  local generator="$1"
+  local report="$2"
+  local output="$OUTPUT_DIR/collect-${generator}-$(basename "$report")"
+  local log="$output.log"
+
+  set +e
+  generate "$generator" "$MULTIPLE_VIOLATIONS_FIXTURE" "$output" \
+    --additional-properties=responseContractValidation=collectAll \
+    --additional-properties=responseContractReport="$OUTPUT_DIR/$generator-$report" >"$log" 2>&1
+  local exit_code=$?
+  set -e
+
+  if [[ $exit_code -eq 0 ]]; then
+    echo "Expected $generator collectAll validation to fail for $MULTIPLE_VIOLATIONS_FIXTURE" >&2
+    exit 1
+  fi
+  assert_contains "$log" "Response contract validation found 4 violations"
+
+  report="$OUTPUT_DIR/$generator-$report"
+  assert_contains "$report" "getAmbiguousOrder"
+  assert_contains "$report" "createDomainInvoice"
+  assert_contains "$report" "deleteInvoice"
+  assert_contains "$report" "single-success-response"
+  assert_contains "$report" "problem-details-error-response"
+  assert_contains "$report" "bodyless-success"
+  assert_contains "$report" "canonical-problem-details"
+  assert_contains "$report" "\"/invoices\""
+  assert_contains "$report" "\"409\""
+}
+
 restore_project() {
   local project_file="$1"
 
@@ -206,6 +239,10 @@ for generator in yaver-proxy yaver-cs-gateway; do
     "must declare a concrete numeric 2xx response code"
   assert_invalid "$generator" "$SUCCESS_WITHOUT_SCHEMA_FIXTURE" \
     "must declare exactly one schema for its success representation"
+
+  assert_collected_report "$generator" "response-contract-report.json"
+  assert_collected_report "$generator" "response-contract-report.sarif"
+  assert_contains "$OUTPUT_DIR/$generator-response-contract-report.sarif" "\"version\" : \"2.1.0\""
 done
 
 split_output="$OUTPUT_DIR/yaver-cs-gateway-split"
@@ -0,0 +1,53 @@
+#!/bin/bash
+set -euo pipefail
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+ROOT_DIR="$(cd "$SCRIPT_DIR/.." && pwd)"
+OPENAPI_GENERATOR_JAR="$ROOT_DIR/cli/openapi-generator-cli.jar"
+YAVER_GENERATOR_JAR="${YAVER_GENERATOR_JAR:-$ROOT_DIR/yaver-codegen/target/yaver-codegen.jar}"
+FIXTURE="$SCRIPT_DIR/fixtures/response-contracts.yaml"
+OUTPUT_DIR="$(mktemp -d "${TMPDIR:-/tmp}/yaver-skip-unchanged.XXXXXX")"
+
+cleanup() {
+  rm -rf "$OUTPUT_DIR"
+}
+trap cleanup EXIT
+
+generate() {
+  local generator="$1"
+  java -cp "$YAVER_GENERATOR_JAR:$OPENAPI_GENERATOR_JAR" \
+    org.openapitools.codegen.OpenAPIGenerator generate \
+    -g "$generator" \
+    -i "$FIXTURE" \
+    -o "$OUTPUT_DIR/$generator" \
+    --additional-properties=packageName=Yaver.SkipUnchanged.Features \
+    > "$OUTPUT_DIR/$generator.log" 2>&1 || {
+      cat "$OUTPUT_DIR/$generator.log" >&2
+      exit 1
+    }
+}
+
+for generator in yaver-proxy yaver-cs-gateway yaver-cs-fastendpoints yaver-fetch-client yaver-ts-angular; do
+  generate "$generator"
+
+  # mtimes have one-second resolution on some file systems.
+  sleep 1
+  touch "$OUTPUT_DIR/$generator.marker"
+
+  generate "$generator"
+
+  if ! grep -q "unchanged files skipped" "$OUTPUT_DIR/$generator.log"; then
+    echo "$generator did not report skipped files." >&2
+    exit 1
+  fi
+
+  rewritten="$(find "$OUTPUT_DIR/$generator" -type f -newer "$OUTPUT_DIR/$generator.marker" \
+    -not -path '*/.openapi-generator/*' -print)"
+  if [[ -n "$rewritten" ]]; then
+    echo "Unchanged spec rewrote $generator files:" >&2
+    echo "$rewritten" >&2
+    exit 1
+  fi
+done
+
+echo "Skip unchanged files regression OK"
@@ -0,0 +1,73 @@
+#!/bin/bash
+set -euo pipefail
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+ROOT_DIR="$(cd "$SCRIPT_DIR/.." && pwd)"
+OPENAPI_GENERATOR_JAR="$ROOT_DIR/cli/openapi-generator-cli.jar"
+YAVER_GENERATOR_JAR="${YAVER_GENERATOR_JAR:-$ROOT_DIR/yaver-codegen/target/yaver-codegen.jar}"
+VALID_FIXTURE="$SCRIPT_DIR/fixtures/response-contracts.yaml"
+INVALID_FIXTURE="$SCRIPT_DIR/fixtures/invalid-multiple-contract-violations.yaml"
+WORK_DIR="$(mktemp -d "${TMPDIR:-/tmp}/yaver-validate-only.XXXXXX")"
+
+cleanup() {
+  rm -rf "$WORK_DIR"
+}
+trap cleanup EXIT
+
+if [[ ! -f "$YAVER_GENERATOR_JAR" ]]; then
+  echo "Generator JAR not found: $YAVER_GENERATOR_JAR" >&2
+  echo "Build it with: mvn -f yaver-codegen/pom.xml clean package" >&2
+  exit 2
+fi
+
+validate() {
+  (cd "$WORK_DIR/cwd" && java -cp "$YAVER_GENERATOR_JAR:$OPENAPI_GENERATOR_JAR" \
+    dev.yaver.codegen.YaverValidate "$@")
+}
+
+assert_contains() {
+  local file="$1"
+  local expected="$2"
+  if ! grep -Fq "$expected" "$file"; then
+    echo "Expected validation output was not found in $file: $expected" >&2
+    exit 1
+  fi
+}
+
+mkdir -p "$WORK_DIR/cwd"
+
+for generator in yaver-proxy yaver-cs-gateway; do
+  log="$WORK_DIR/$generator-valid.log"
+  if ! validate -g "$generator" -i "$VALID_FIXTURE" >"$log" 2>&1; then
+    cat "$log" >&2
+    echo "Expected $generator validation to pass for $VALID_FIXTURE" >&2
+    exit 1
+  fi
+  assert_contains "$log" "models valid in"
+
+  log="$WORK_DIR/$generator-invalid.log"
+  report="$WORK_DIR/$generator-report.sarif"
+  set +e
+  validate -g "$generator" -i "$INVALID_FIXTURE" --report "$report" >"$log" 2>&1
+  exit_code=$?
+  set -e
+  if [[ $exit_code -ne 1 ]]; then
+    cat "$log" >&2
+    echo "Expected $generator validation to exit with 1 for $INVALID_FIXTURE, got $exit_code" >&2
+    exit 1
+  fi
+  assert_contains "$log" "4 response contract violations"
+  assert_contains "$log" "getAmbiguousOrder"
+  assert_contains "$log" "createDomainInvoice"
+  assert_contains "$log" "deleteInvoice"
+  assert_contains "$report" "\"version\" : \"2.1.0\""
+done
+
+written="$(find "$WORK_DIR/cwd" -mindepth 1 -print)"
+if [[ -n "$written" ]]; then
+  echo "Validate-only runs must not write files:" >&2
+  echo "$written" >&2
+  exit 1
+fi
+
+echo "Validate-only regression OK"
@@ -0,0 +1,59 @@
+package dev.yaver.codegen;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openapitools.codegen.model.ModelMap;
+import org.openapitools.codegen.model.OperationsMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Path template rewriting in {@code YaverTsAngular.postProcessOperationsWithModels}.
+ *
+ * <p>The hook rewrites {@code op.path} in place, so each invocation gets
+ * freshly built operations. The hook does not read the model list, which is
+ * left empty to keep the setup cheap at 10k.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class AngularPathRewriteBenchmark {
+    @Param({ "100", "1000", "10000" })
+    public int size;
+
+    private GeneratorFixture fixture;
+    private List<OperationsMap> operations;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        fixture = GeneratorFixture.prepare(new YaverTsAngular(), SyntheticSpec.parse(size));
+    }
+
+    @Setup(Level.Invocation)
+    public void buildOperations() {
+        operations = fixture.operationsBundles();
+    }
+
+    @Benchmark
+    public void postProcessOperationsWithModels(Blackhole blackhole) {
+        List<ModelMap> allModels = List.of();
+        for (OperationsMap bundle : operations) {
+            blackhole.consume(fixture.config().postProcessOperationsWithModels(bundle, allModels));
+        }
+    }
+}
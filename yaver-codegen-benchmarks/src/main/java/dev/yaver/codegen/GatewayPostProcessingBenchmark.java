@@ -0,0 +1,115 @@
+package dev.yaver.codegen;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openapitools.codegen.model.ModelMap;
+import org.openapitools.codegen.model.ModelsMap;
+import org.openapitools.codegen.model.OperationsMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Post-processing hooks of {@code yaver-cs-gateway} over synthetic specs of
+ * 100, 1k and 10k operations and models.
+ *
+ * <p>The hooks mutate their input, so each invocation gets freshly built
+ * bundles; building them is excluded from the measurement.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class GatewayPostProcessingBenchmark {
+
+    @State(Scope.Thread)
+    public static class ModelsState {
+        @Param({ "100", "1000", "10000" })
+        public int size;
+
+        GeneratorFixture fixture;
+        Map<String, ModelsMap> models;
+
+        @Setup(Level.Trial)
+        public void prepare() {
+            fixture = GeneratorFixture.prepare(new YaverCsGateway(), SyntheticSpec.parse(size));
+        }
+
+        @Setup(Level.Invocation)
+        public void buildModels() {
+            models = fixture.fromModels();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class AllModelsState {
+        @Param({ "100", "1000", "10000" })
+        public int size;
+
+        GeneratorFixture fixture;
+        Map<String, ModelsMap> models;
+
+        @Setup(Level.Trial)
+        public void prepare() {
+            fixture = GeneratorFixture.prepare(new YaverCsGateway(), SyntheticSpec.parse(size));
+        }
+
+        @Setup(Level.Invocation)
+        public void buildModels() {
+            models = fixture.postProcessModels(fixture.fromModels());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class OperationsState {
+        @Param({ "100", "1000", "10000" })
+        public int size;
+
+        GeneratorFixture fixture;
+        List<ModelMap> allModels;
+        List<OperationsMap> operations;
+
+        @Setup(Level.Trial)
+        public void prepare() {
+            fixture = GeneratorFixture.prepare(new YaverCsGateway(), SyntheticSpec.parse(size));
+            allModels = fixture.allModels();
+        }
+
+        @Setup(Level.Invocation)
+        public void buildOperations() {
+            operations = fixture.operationsBundles();
+        }
+    }
+
+    @Benchmark
+    public void postProcessModels(ModelsState state, Blackhole blackhole) {
+        for (ModelsMap bundle : state.models.values()) {
+            blackhole.consume(state.fixture.config().postProcessModels(bundle));
+        }
+    }
+
+    @Benchmark
+    public Map<String, ModelsMap> postProcessAllModels(AllModelsState state) {
+        return state.fixture.config().postProcessAllModels(state.models);
+    }
+
+    @Benchmark
+    public void postProcessOperationsWithModels(OperationsState state, Blackhole blackhole) {
+        for (OperationsMap bundle : state.operations) {
+            blackhole.consume(state.fixture.config().postProcessOperationsWithModels(bundle, state.allModels));
+        }
+    }
+}
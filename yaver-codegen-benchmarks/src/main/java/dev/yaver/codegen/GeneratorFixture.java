@@ -0,0 +1,150 @@
+package dev.yaver.codegen;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.openapitools.codegen.CodegenConfig;
+import org.openapitools.codegen.CodegenConstants;
+import org.openapitools.codegen.CodegenModel;
+import org.openapitools.codegen.CodegenOperation;
+import org.openapitools.codegen.model.ModelMap;
+import org.openapitools.codegen.model.ModelsMap;
+import org.openapitools.codegen.model.OperationMap;
+import org.openapitools.codegen.model.OperationsMap;
+import org.openapitools.codegen.utils.ModelUtils;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.Schema;
+
+/**
+ * Drives a generator through the same steps as {@code DefaultGenerator} up to
+ * the hook under measurement, without rendering or writing anything.
+ *
+ * <p>The model and operation bundles are built the way the generator builds
+ * them (one {@link ModelsMap} per model, one {@link OperationsMap} per tag), so
+ * the post-processing hooks see realistic input shapes.</p>
+ */
+final class GeneratorFixture {
+    static final String PACKAGE_NAME = "Yaver.Benchmarks.Features";
+
+    private final CodegenConfig config;
+    private final OpenAPI openAPI;
+
+    private GeneratorFixture(CodegenConfig config, OpenAPI openAPI) {
+        this.config = config;
+        this.openAPI = openAPI;
+    }
+
+    static GeneratorFixture prepare(CodegenConfig config, OpenAPI openAPI) {
+        config.additionalProperties().put(CodegenConstants.PACKAGE_NAME, PACKAGE_NAME);
+        config.processOpts();
+        config.preprocessOpenAPI(openAPI);
+        config.setOpenAPI(openAPI);
+        config.processOpenAPI(openAPI);
+        return new GeneratorFixture(config, openAPI);
+    }
+
+    CodegenConfig config() {
+        return config;
+    }
+
+    /**
+     * Runs {@code fromModel} for every schema, keyed by schema name.
+     */
+    Map<String, ModelsMap> fromModels() {
+        Map<String, ModelsMap> models = new TreeMap<>();
+        for (Map.Entry<String, Schema> entry : ModelUtils.getSchemas(openAPI).entrySet()) {
+            CodegenModel model = config.fromModel(entry.getKey(), entry.getValue());
+            ModelMap modelMap = new ModelMap();
+            modelMap.setModel(model);
+            modelMap.put("importPath", config.toModelImport(model.classname));
+
+            ModelsMap bundle = new ModelsMap();
+            bundle.put("package", config.modelPackage());
+            bundle.setModels(new ArrayList<>(List.of(modelMap)));
+            bundle.setImports(imports(model.imports));
+            models.put(entry.getKey(), bundle);
+        }
+        return models;
+    }
+
+    Map<String, ModelsMap> postProcessModels(Map<String, ModelsMap> models) {
+        Map<String, ModelsMap> processed = new TreeMap<>();
+        models.forEach((name, bundle) -> processed.put(name, config.postProcessModels(bundle)));
+        return config.updateAllModels(processed);
+    }
+
+    /**
+     * Runs the whole model pipeline and returns the flat model list handed to
+     * the operation hooks.
+     */
+    List<ModelMap> allModels() {
+        Map<String, ModelsMap> processed = config.postProcessAllModels(postProcessModels(fromModels()));
+        List<ModelMap> allModels = new ArrayList<>();
+        for (ModelsMap bundle : processed.values()) {
+            allModels.addAll(bundle.getModels());
+        }
+        return allModels;
+    }
+
+    /**
+     * Runs {@code fromOperation} for every operation, grouped by tag.
+     */
+    Map<String, List<CodegenOperation>> fromOperations() {
+        Map<String, List<CodegenOperation>> operations = new TreeMap<>();
+        for (Map.Entry<String, PathItem> path : openAPI.getPaths().entrySet()) {
+            for (Map.Entry<PathItem.HttpMethod, Operation> method : path.getValue().readOperationsMap().entrySet()) {
+                Operation operation = method.getValue();
+                CodegenOperation codegenOperation = config.fromOperation(path.getKey(),
+                        method.getKey().name().toLowerCase(Locale.ROOT), operation, openAPI.getServers());
+                for (String tag : operation.getTags()) {
+                    config.addOperationToGroup(config.sanitizeTag(tag), path.getKey(), operation, codegenOperation,
+                            operations);
+                }
+            }
+        }
+        return operations;
+    }
+
+    /**
+     * Builds one operations bundle per tag, as handed to
+     * {@code postProcessOperationsWithModels}.
+     */
+    List<OperationsMap> operationsBundles() {
+        List<OperationsMap> bundles = new ArrayList<>();
+        fromOperations().forEach((tag, operations) -> {
+            OperationMap operationMap = new OperationMap();
+            operationMap.setClassname(config.toApiName(tag));
+            operationMap.setPathPrefix(config.toApiVarName(tag));
+            operationMap.setOperation(operations);
+
+            TreeSet<String> importNames = new TreeSet<>();
+            operations.forEach(operation -> importNames.addAll(operation.imports));
+
+            OperationsMap bundle = new OperationsMap();
+            bundle.setOperation(operationMap);
+            bundle.put("package", config.apiPackage());
+            bundle.setImports(imports(importNames));
+            bundles.add(bundle);
+        });
+        return bundles;
+    }
+
+    private List<Map<String, String>> imports(Iterable<String> names) {
+        List<Map<String, String>> imports = new ArrayList<>();
+        for (String name : names) {
+            Map<String, String> entry = new HashMap<>();
+            entry.put("import", config.toModelImport(name));
+            entry.put("classname", name);
+            imports.add(entry);
+        }
+        return imports;
+    }
+}
@@ -0,0 +1,64 @@
+package dev.yaver.codegen;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openapitools.codegen.CodegenOperation;
+import org.openapitools.codegen.model.ModelMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Response contract checks over every operation of a synthetic spec, against
+ * the full model list as the gateway passes it. Each invocation builds the
+ * validator, as a generation run does once.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ResponseContractValidatorBenchmark {
+    @Param({ "100", "1000", "10000" })
+    public int size;
+
+    private List<ModelMap> allModels;
+    private List<CodegenOperation> operations;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        GeneratorFixture fixture = GeneratorFixture.prepare(new YaverCsGateway(), SyntheticSpec.parse(size));
+        allModels = fixture.allModels();
+        operations = fixture.fromOperations().values().stream()
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    @Benchmark
+    public void requireSingleSuccessResponse(Blackhole blackhole) {
+        ResponseContractValidator validator = ResponseContractValidator.forModels(allModels);
+        for (CodegenOperation operation : operations) {
+            blackhole.consume(validator.requireSingleSuccessResponse(operation));
+        }
+    }
+
+    @Benchmark
+    public void requireProblemDetailsErrors() {
+        ResponseContractValidator validator = ResponseContractValidator.forModels(allModels);
+        for (CodegenOperation operation : operations) {
+            validator.requireProblemDetailsErrors(operation);
+        }
+    }
+}
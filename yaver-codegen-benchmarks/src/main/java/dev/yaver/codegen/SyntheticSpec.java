@@ -0,0 +1,327 @@
+package dev.yaver.codegen;
+
+import java.util.List;
+import java.util.Locale;
+
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+
+/**
+ * Builds a synthetic OpenAPI document with {@code size} operations and
+ * {@code size} models that satisfies the Yaver response contract.
+ *
+ * <p>Operations are spread over tags of {@value #OPERATIONS_PER_TAG}
+ * operations and cycle through GET, POST, PUT and DELETE so every shape the
+ * gateway post-processing distinguishes (object, array and bodyless success,
+ * request bodies, paging and header parameters) is present at every scale.
+ * Models reference their neighbour, so the model graph grows with the spec.</p>
+ */
+final class SyntheticSpec {
+    static final int OPERATIONS_PER_TAG = 20;
+
+    private SyntheticSpec() {
+    }
+
+    static OpenAPI parse(int size) {
+        return parse(yaml(size), "of size " + size);
+    }
+
+    /**
+     * Builds a spec of {@code models} wide models with {@code properties}
+     * properties each. Half of the properties come from a shared base model
+     * through {@code allOf}, so the inherited-property reconciliation runs
+     * over lists of the full width.
+     */
+    static OpenAPI parseWide(int models, int properties) {
+        return parse(wideYaml(models, properties), "of " + models + " models with " + properties + " properties");
+    }
+
+    private static OpenAPI parse(String yaml, String description) {
+        ParseOptions options = new ParseOptions();
+        options.setResolve(true);
+        SwaggerParseResult result = new OpenAPIParser().readContents(yaml, null, options);
+        if (result.getOpenAPI() == null) {
+            throw new IllegalArgumentException("Synthetic spec " + description + " does not parse: "
+                    + result.getMessages());
+        }
+        return result.getOpenAPI();
+    }
+
+    static String yaml(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Synthetic spec size must be positive: " + size);
+        }
+
+        StringBuilder yaml = new StringBuilder(size * 1024);
+        yaml.append("openapi: 3.0.3\n")
+                .append("info:\n")
+                .append("  title: Yaver synthetic benchmark\n")
+                .append("  version: 1.0.0\n")
+                .append("paths:\n");
+        for (int i = 0; i < size; i++) {
+            appendOperation(yaml, i, size);
+        }
+
+        yaml.append("components:\n")
+                .append("  responses:\n");
+        for (String response : List.of("BadRequest", "NotFound", "Conflict")) {
+            yaml.append("    ").append(response).append(":\n")
+                    .append("      description: ").append(response).append('\n')
+                    .append("      content:\n")
+                    .append("        application/problem+json:\n")
+                    .append("          schema:\n")
+                    .append("            $ref: \"#/components/schemas/ProblemDetails\"\n");
+        }
+
+        yaml.append("  schemas:\n");
+        for (int i = 0; i < size; i++) {
+            appendModel(yaml, i, size);
+        }
+        appendProblemDetails(yaml);
+        return yaml.toString();
+    }
+
+    static String wideYaml(int models, int properties) {
+        if (models < 1 || properties < 2) {
+            throw new IllegalArgumentException("Wide spec needs at least one model and two properties: "
+                    + models + ", " + properties);
+        }
+
+        int baseProperties = properties / 2;
+        StringBuilder yaml = new StringBuilder((models + 1) * properties * 96);
+        yaml.append("openapi: 3.0.3\n")
+                .append("info:\n")
+                .append("  title: Yaver wide model benchmark\n")
+                .append("  version: 1.0.0\n")
+                .append("paths: {}\n")
+                .append("components:\n")
+                .append("  schemas:\n")
+                .append("    WideBase:\n")
+                .append("      ");
+        appendWideProperties(yaml, "      ", "base", baseProperties);
+        for (int i = 0; i < models; i++) {
+            yaml.append("    WideModel").append(i).append(":\n")
+                    .append("      allOf:\n")
+                    .append("        - $ref: \"#/components/schemas/WideBase\"\n")
+                    .append("        - ");
+            appendWideProperties(yaml, "          ", "field", properties - baseProperties);
+        }
+        return yaml.toString();
+    }
+
+    /**
+     * Appends an object schema, starting at the current line, whose
+     * properties cycle through string, nullable, numeric and array shapes;
+     * every other property is required.
+     */
+    private static void appendWideProperties(StringBuilder yaml, String indent, String prefix, int count) {
+        yaml.append("type: object\n")
+                .append(indent).append("required: [");
+        for (int j = 0; j < count; j += 2) {
+            yaml.append(j == 0 ? "" : ", ").append(prefix).append(j);
+        }
+        yaml.append("]\n")
+                .append(indent).append("properties:\n");
+        for (int j = 0; j < count; j++) {
+            yaml.append(indent).append("  ").append(prefix).append(j).append(":\n");
+            switch (j % 4) {
+                case 0 -> yaml.append(indent).append("    type: string\n")
+                        .append(indent).append("    maxLength: 200\n");
+                case 1 -> yaml.append(indent).append("    type: string\n")
+                        .append(indent).append("    nullable: true\n");
+                case 2 -> yaml.append(indent).append("    type: integer\n")
+                        .append(indent).append("    format: int64\n");
+                default -> yaml.append(indent).append("    type: array\n")
+                        .append(indent).append("    items:\n")
+                        .append(indent).append("      type: string\n");
+            }
+        }
+    }
+
+    private static void appendOperation(StringBuilder yaml, int index, int size) {
+        String tag = "Tag" + (index / OPERATIONS_PER_TAG);
+        String model = "Model" + index;
+        String nextModel = "Model" + ((index + 1) % size);
+
+        yaml.append("  /").append(tag.toLowerCase(Locale.ROOT)).append("/resources").append(index)
+                .append("/{resourceId}/items/{itemId}:\n");
+        switch (index % 4) {
+            case 0 -> {
+                yaml.append("    get:\n");
+                appendOperationHeader(yaml, tag, "getResource" + index);
+                yaml.append("      parameters:\n");
+                appendPathParameters(yaml);
+                appendParameter(yaml, "Offset", "query", false, "integer", "int32");
+                appendParameter(yaml, "Limit", "query", false, "integer", "int32");
+                appendParameter(yaml, "From", "query", false, "string", "date-time");
+                appendParameter(yaml, "To", "query", false, "string", "date-time");
+                appendParameter(yaml, "X-Tenant", "header", true, "string", null);
+                yaml.append("      responses:\n");
+                appendJsonResponse(yaml, "200", "$ref: \"#/components/schemas/" + model + "\"");
+                appendErrorResponses(yaml, "NotFound");
+            }
+            case 1 -> {
+                yaml.append("    post:\n");
+                appendOperationHeader(yaml, tag, "createResource" + index);
+                yaml.append("      parameters:\n");
+                appendPathParameters(yaml);
+                yaml.append("      requestBody:\n")
+                        .append("        required: true\n")
+                        .append("        content:\n")
+                        .append("          application/json:\n")
+                        .append("            schema:\n")
+                        .append("              $ref: \"#/components/schemas/").append(model).append("\"\n");
+                yaml.append("      responses:\n");
+                appendJsonResponse(yaml, "201", "$ref: \"#/components/schemas/" + nextModel + "\"");
+                appendErrorResponses(yaml, "BadRequest", "Conflict");
+            }
+            case 2 -> {
+                yaml.append("    put:\n");
+                appendOperationHeader(yaml, tag, "listResources" + index);
+                yaml.append("      parameters:\n");
+                appendPathParameters(yaml);
+                yaml.append("      responses:\n");
+                appendJsonResponse(yaml, "200", "type: array\n"
+                        + "                items:\n"
+                        + "                  $ref: \"#/components/schemas/" + model + "\"");
+                appendErrorResponses(yaml, "BadRequest");
+            }
+            default -> {
+                yaml.append("    delete:\n");
+                appendOperationHeader(yaml, tag, "deleteResource" + index);
+                yaml.append("      parameters:\n");
+                appendPathParameters(yaml);
+                yaml.append("      responses:\n")
+                        .append("        \"204\":\n")
+                        .append("          description: No content\n");
+                appendErrorResponses(yaml, "NotFound");
+            }
+        }
+    }
+
+    private static void appendOperationHeader(StringBuilder yaml, String tag, String operationId) {
+        yaml.append("      tags: [").append(tag).append("]\n")
+                .append("      operationId: ").append(operationId).append('\n');
+    }
+
+    private static void appendPathParameters(StringBuilder yaml) {
+        appendParameter(yaml, "resourceId", "path", true, "string", null);
+        appendParameter(yaml, "itemId", "path", true, "integer", "int64");
+    }
+
+    private static void appendParameter(StringBuilder yaml, String name, String in, boolean required, String type,
+            String format) {
+        yaml.append("        - name: ").append(name).append('\n')
+                .append("          in: ").append(in).append('\n')
+                .append("          required: ").append(required).append('\n')
+                .append("          schema:\n")
+                .append("            type: ").append(type).append('\n');
+        if (format != null) {
+            yaml.append("            format: ").append(format).append('\n');
+        }
+    }
+
+    private static void appendJsonResponse(StringBuilder yaml, String code, String schema) {
+        yaml.append("        \"").append(code).append("\":\n")
+                .append("          description: Success\n")
+                .append("          content:\n")
+                .append("            application/json:\n")
+                .append("              schema:\n")
+                .append("                ").append(schema).append('\n');
+    }
+
+    private static void appendErrorResponses(StringBuilder yaml, String... responses) {
+        for (String response : responses) {
+            String code = switch (response) {
+                case "BadRequest" -> "400";
+                case "NotFound" -> "404";
+                default -> "409";
+            };
+            yaml.append("        \"").append(code).append("\":\n")
+                    .append("          $ref: \"#/components/responses/").append(response).append("\"\n");
+        }
+        yaml.append("        \"500\":\n")
+                .append("          $ref: \"#/components/responses/BadRequest\"\n");
+    }
+
+    private static void appendModel(StringBuilder yaml, int index, int size) {
+        yaml.append("    Model").append(index).append(":\n")
+                .append("      type: object\n")
+                .append("      required: [id, name, status]\n")
+                .append("      properties:\n")
+                .append("        id:\n")
+                .append("          type: string\n")
+                .append("          format: uuid\n")
+                .append("        name:\n")
+                .append("          type: string\n")
+                .append("          maxLength: 200\n")
+                .append("        description:\n")
+                .append("          type: string\n")
+                .append("          nullable: true\n")
+                .append("        count:\n")
+                .append("          type: integer\n")
+                .append("          format: int32\n")
+                .append("          default: 0\n")
+                .append("        amount:\n")
+                .append("          type: number\n")
+                .append("          format: double\n")
+                .append("          nullable: true\n")
+                .append("        createdAt:\n")
+                .append("          type: string\n")
+                .append("          format: date-time\n")
+                .append("        status:\n")
+                .append("          type: string\n")
+                .append("          enum: [Active, Disabled]\n")
+                .append("        labels:\n")
+                .append("          type: array\n")
+                .append("          items:\n")
+                .append("            type: string\n")
+                .append("        attributes:\n")
+                .append("          type: object\n")
+                .append("          additionalProperties:\n")
+                .append("            type: string\n")
+                .append("        next:\n")
+                .append("          $ref: \"#/components/schemas/Model").append((index + 1) % size).append("\"\n");
+    }
+
+    private static void appendProblemDetails(StringBuilder yaml) {
+        yaml.append("    ProblemDetails:\n")
+                .append("      type: object\n")
+                .append("      required: [type, title, status, instance, traceId, errors]\n")
+                .append("      properties:\n")
+                .append("        type:\n")
+                .append("          type: string\n")
+                .append("        title:\n")
+                .append("          type: string\n")
+                .append("        status:\n")
+                .append("          type: integer\n")
+                .append("          format: int32\n")
+                .append("        instance:\n")
+                .append("          type: string\n")
+                .append("        traceId:\n")
+                .append("          type: string\n")
+                .append("        detail:\n")
+                .append("          type: string\n")
+                .append("          nullable: true\n")
+                .append("        errors:\n")
+                .append("          type: array\n")
+                .append("          items:\n")
+                .append("            $ref: \"#/components/schemas/ProblemDetailsError\"\n")
+                .append("    ProblemDetailsError:\n")
+                .append("      type: object\n")
+                .append("      required: [name, reason]\n")
+                .append("      properties:\n")
+                .append("        name:\n")
+                .append("          type: string\n")
+                .append("        reason:\n")
+                .append("          type: string\n")
+                .append("        code:\n")
+                .append("          type: string\n")
+                .append("          nullable: true\n")
+                .append("        severity:\n")
+                .append("          type: string\n")
+                .append("          nullable: true\n");
+    }
+}
@@ -0,0 +1,88 @@
+package dev.yaver.codegen;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openapitools.codegen.CodegenConfigLoader;
+import org.openapitools.codegen.model.ModelsMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Model hooks of the three C# generators over {@value #MODELS} wide models of
+ * 125, 250 and 500 properties, half of them inherited through {@code allOf}.
+ *
+ * <p>The property list reconciliation in these hooks is linear in the model
+ * width, so doubling the width should roughly double the time; a quadratic
+ * step shows up as a 4x jump instead.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class WideModelBenchmark {
+    static final int MODELS = 20;
+
+    @State(Scope.Thread)
+    public static class WideState {
+        @Param({ "yaver-cs-gateway", "yaver-proxy", "yaver-cs-fastendpoints" })
+        public String generator;
+
+        @Param({ "125", "250", "500" })
+        public int properties;
+
+        GeneratorFixture fixture;
+
+        @Setup(Level.Trial)
+        public void prepare() {
+            fixture = GeneratorFixture.prepare(CodegenConfigLoader.forName(generator),
+                    SyntheticSpec.parseWide(MODELS, properties));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class WideModelsState extends WideState {
+        Map<String, ModelsMap> models;
+
+        @Setup(Level.Invocation)
+        public void buildModels() {
+            models = fixture.fromModels();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class WideAllModelsState extends WideState {
+        Map<String, ModelsMap> models;
+
+        @Setup(Level.Invocation)
+        public void buildModels() {
+            models = fixture.postProcessModels(fixture.fromModels());
+        }
+    }
+
+    @Benchmark
+    public Map<String, ModelsMap> fromModel(WideState state) {
+        return state.fixture.fromModels();
+    }
+
+    @Benchmark
+    public Map<String, ModelsMap> postProcessModels(WideModelsState state) {
+        return state.fixture.postProcessModels(state.models);
+    }
+
+    @Benchmark
+    public Map<String, ModelsMap> postProcessAllModels(WideAllModelsState state) {
+        return state.fixture.config().postProcessAllModels(state.models);
+    }
+}
@@ -0,0 +1,69 @@
+package dev.yaver.codegen;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openapitools.codegen.CodegenConfig;
+import org.openapitools.codegen.api.TemplatingExecutor;
+
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+
+/**
+ * JVM-wide cache of compiled embedded Mustache templates, keyed by generator
+ * and template file.
+ *
+ * <p>The stock engine compiles a template again for every file it renders,
+ * so a model template is parsed once per model and again on every run of a
+ * long-lived JVM. Embedded templates cannot change while the JVM runs, so
+ * they are compiled once per generator. Partials are loaded from the
+ * classpath rather than through the run's {@link TemplatingExecutor}, so a
+ * cached template does not keep a finished run alive. Runs with a custom
+ * template directory are never cached.</p>
+ */
+final class CompiledTemplates {
+    private static final String TEMPLATE_EXTENSION = ".mustache";
+    private static final Map<Key, Template> TEMPLATES = new ConcurrentHashMap<>();
+
+    private CompiledTemplates() {
+    }
+
+    static boolean isCacheable(CodegenConfig config) {
+        return config.embeddedTemplateDir() != null
+                && Objects.equals(config.templateDir(), config.embeddedTemplateDir());
+    }
+
+    /**
+     * Returns the compiled template, compiling it with {@code compiler} on
+     * first use.
+     */
+    static Template get(CodegenConfig config, Mustache.Compiler compiler, TemplatingExecutor executor,
+            String templateFile) {
+        return TEMPLATES.computeIfAbsent(new Key(config.getName(), templateFile), key -> compiler
+                .withLoader(name -> embeddedPartial(config, name))
+                .defaultValue("")
+                .compile(executor.getFullTemplateContents(templateFile)));
+    }
+
+    static int size() {
+        return TEMPLATES.size();
+    }
+
+    private static Reader embeddedPartial(CodegenConfig config, String name) throws IOException {
+        String resource = config.embeddedTemplateDir() + "/" + name + TEMPLATE_EXTENSION;
+        InputStream stream = config.getClass().getClassLoader().getResourceAsStream(resource);
+        if (stream == null) {
+            throw new IOException("Template partial not found: " + resource);
+        }
+        return new InputStreamReader(stream, StandardCharsets.UTF_8);
+    }
+
+    private record Key(String generatorName, String templateFile) {
+    }
+}
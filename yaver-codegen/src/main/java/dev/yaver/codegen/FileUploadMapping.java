@@ -0,0 +1,173 @@
+package dev.yaver.codegen;
+
+import java.util.List;
+import java.util.Map;
+
+import org.openapitools.codegen.CodegenOperation;
+import org.openapitools.codegen.CodegenParameter;
+
+/**
+ * Chooses how the file form params of each operation are mapped onto the
+ * remote command.
+ *
+ * <p>Buffered operations copy every upload into one {@code FileData} array.
+ * Streamed operations ({@code x-yaver-file-streaming}, or the
+ * {@code fileStreaming} default) read the upload into a {@code FileChunks}
+ * list of 64 KiB pieces rented from {@code ArrayPool<byte>.Shared} instead,
+ * which never reach the large object heap. Their size limit becomes request
+ * size and multipart body length limits of the endpoint, so ASP.NET fails
+ * the request with 413 while reading the body, before the form is
+ * buffered.</p>
+ *
+ * <p>With {@code pooledFileBuffers}, buffered operations rent their
+ * {@code FileData} array from {@code ArrayPool<byte>.Shared}, sized from the
+ * declared upload length. The endpoint returns pooled arrays, streamed or
+ * buffered, when the request completes.</p>
+ */
+final class FileUploadMapping {
+    static final String FILE_STREAMING = "fileStreaming";
+    static final String FILE_STREAMING_DESC = "Stream file uploads into chunked FileChunks commands instead of "
+            + "buffering them into FileData, for operations without an x-yaver-file-streaming extension.";
+    static final String FILE_UPLOAD_MAX_BYTES = "fileUploadMaxBytes";
+    static final String FILE_UPLOAD_MAX_BYTES_DESC = "Size limit in bytes of streamed file uploads, enforced by the "
+            + "endpoint's request size and multipart body length limits; x-yaver-file-max-bytes overrides it per "
+            + "operation. Unlimited when unset.";
+    static final String POOLED_FILE_BUFFERS = "pooledFileBuffers";
+    static final String POOLED_FILE_BUFFERS_DESC = "Rent buffered FileData content from ArrayPool<byte>.Shared, "
+            + "pre-sized from the upload length, and return it once the RPC call has been sent.";
+
+    static final String FILE_STREAMING_EXTENSION = "x-yaver-file-streaming";
+    static final String FILE_MAX_BYTES_EXTENSION = "x-yaver-file-max-bytes";
+    static final String HAS_FILE_PARAMS_EXTENSION = "x-yaver-has-file-params";
+    static final String POOLED_FILE_BUFFERS_EXTENSION = "x-yaver-pooled-file-buffers";
+    static final String HAS_FILE_STREAMING_EXTENSION = "x-yaver-has-file-streaming";
+    static final String REQUEST_SIZE_LIMIT_EXTENSION = "x-yaver-request-size-limit";
+
+    /**
+     * Room in the request size limit for the multipart boundaries and headers
+     * and the non-file form fields.
+     */
+    static final long FORM_OVERHEAD_BYTES = 64L * 1024;
+
+    private final boolean streamingSupported;
+    private final boolean streamingByDefault;
+    private final Long defaultMaxBytes;
+    private final boolean pooledFileBuffers;
+    private boolean hasStreaming;
+
+    private FileUploadMapping(boolean streamingSupported, boolean streamingByDefault, Long defaultMaxBytes,
+            boolean pooledFileBuffers) {
+        this.streamingSupported = streamingSupported;
+        this.streamingByDefault = streamingByDefault;
+        this.defaultMaxBytes = defaultMaxBytes;
+        this.pooledFileBuffers = pooledFileBuffers;
+    }
+
+    /**
+     * Mapping of a generator that emits both contracts (the gateway).
+     */
+    static FileUploadMapping fromOptions(Map<String, Object> additionalProperties) {
+        Object streaming = additionalProperties.get(FILE_STREAMING);
+        return new FileUploadMapping(true, isTrue(streaming),
+                maxBytes(additionalProperties.get(FILE_UPLOAD_MAX_BYTES), FILE_UPLOAD_MAX_BYTES),
+                isTrue(additionalProperties.get(POOLED_FILE_BUFFERS)));
+    }
+
+    /**
+     * Mapping of a generator that only emits {@code FileData} (the proxy);
+     * {@code x-yaver-file-streaming} is ignored.
+     */
+    static FileUploadMapping bufferedFromOptions(Map<String, Object> additionalProperties) {
+        return new FileUploadMapping(false, false, null, isTrue(additionalProperties.get(POOLED_FILE_BUFFERS)));
+    }
+
+    /**
+     * Marks {@code op} and its file params as streamed, buffered or pooled
+     * and sets the size limits of streamed ones. Operations with file params
+     * get an async {@code ToCommandAsync} mapper
+     * ({@code x-yaver-has-file-params}); streamed and pooled ones release
+     * their rented buffers when the request completes
+     * ({@code x-yaver-pooled-file-buffers}).
+     *
+     * @return whether the operation has file params
+     */
+    boolean apply(CodegenOperation op) {
+        List<CodegenParameter> files = op.formParams == null
+                ? List.of()
+                : op.formParams.stream().filter(parameter -> parameter.isFile).toList();
+        Object requested = op.vendorExtensions.get(FILE_STREAMING_EXTENSION);
+        boolean streaming = streamingSupported && !files.isEmpty()
+                && (requested == null ? streamingByDefault : isTrue(requested));
+
+        op.vendorExtensions.put(HAS_FILE_PARAMS_EXTENSION, !files.isEmpty());
+        op.vendorExtensions.put(FILE_STREAMING_EXTENSION, streaming);
+        op.vendorExtensions.put(POOLED_FILE_BUFFERS_EXTENSION, !files.isEmpty() && (streaming || pooledFileBuffers));
+        hasStreaming |= streaming;
+        if (!streaming) {
+            op.vendorExtensions.remove(FILE_MAX_BYTES_EXTENSION);
+            op.vendorExtensions.remove(REQUEST_SIZE_LIMIT_EXTENSION);
+            return !files.isEmpty();
+        }
+
+        Object requestedMaxBytes = op.vendorExtensions.get(FILE_MAX_BYTES_EXTENSION);
+        Long maxBytes = requestedMaxBytes == null
+                ? defaultMaxBytes
+                : maxBytes(requestedMaxBytes, FILE_MAX_BYTES_EXTENSION + " of operation " + op.operationId);
+        if (maxBytes == null) {
+            op.vendorExtensions.remove(FILE_MAX_BYTES_EXTENSION);
+            op.vendorExtensions.remove(REQUEST_SIZE_LIMIT_EXTENSION);
+        } else {
+            op.vendorExtensions.put(FILE_MAX_BYTES_EXTENSION, maxBytes);
+            op.vendorExtensions.put(REQUEST_SIZE_LIMIT_EXTENSION, requestSizeLimit(maxBytes, files.size()));
+        }
+        for (CodegenParameter file : files) {
+            file.vendorExtensions.put(FILE_STREAMING_EXTENSION, true);
+            if (maxBytes != null) {
+                file.vendorExtensions.put(FILE_MAX_BYTES_EXTENSION, maxBytes);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sets {@code x-yaver-has-file-streaming} once any operation streams its
+     * uploads, so {@code Maps.cs} only declares {@code FileChunks} and its
+     * mappers when they are used.
+     */
+    void publish(Map<String, Object> additionalProperties) {
+        additionalProperties.put(HAS_FILE_STREAMING_EXTENSION, hasStreaming);
+    }
+
+    /**
+     * Request size limit of an operation whose {@code files} may each be
+     * {@code maxBytes} long.
+     */
+    private static long requestSizeLimit(long maxBytes, int files) {
+        try {
+            return Math.addExact(Math.multiplyExact(maxBytes, files), FORM_OVERHEAD_BYTES);
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static boolean isTrue(Object value) {
+        return value instanceof Boolean flag ? flag : value != null && Boolean.parseBoolean(value.toString());
+    }
+
+    private static Long maxBytes(Object value, String source) {
+        if (value == null || value.toString().isBlank()) {
+            return null;
+        }
+
+        long maxBytes;
+        try {
+            maxBytes = value instanceof Number number ? number.longValue() : Long.parseLong(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + source + ": '" + value + "'. Expected a byte count.", e);
+        }
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Invalid " + source + ": " + maxBytes + ". Expected a positive byte count.");
+        }
+        return maxBytes;
+    }
+}
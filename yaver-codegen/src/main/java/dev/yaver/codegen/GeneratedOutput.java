@@ -0,0 +1,127 @@
+package dev.yaver.codegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openapitools.codegen.DefaultGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Output stage shared by all Yaver generators.
+ *
+ * <p>Unchanged files are left alone by the generator's minimal-update writer,
+ * so their mtimes survive a regeneration and {@code tsc}, {@code ng-packagr}
+ * and {@code dotnet build} only see the files that really changed. The
+ * writer already compares every rendered file with the one on disk, so the
+ * stage does not read the files again: it notes the attributes of each
+ * target before the write and counts the targets the writer left untouched
+ * once generation finished. Files reused by incremental generation are
+ * known to be unchanged and are counted right away.</p>
+ */
+final class GeneratedOutput {
+    static final String SKIP_UNCHANGED_FILES = "skipUnchangedFiles";
+    static final String SKIP_UNCHANGED_FILES_DESC = "When true (default), rendered files that are byte-identical to the existing output are not rewritten, keeping their modification time.";
+
+    // The CLI only shows org.openapitools at INFO, so the summary goes through the generator's logger.
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultGenerator.class);
+
+    private final String generatorName;
+    private final boolean skipUnchanged;
+    private final AtomicInteger written = new AtomicInteger();
+    private final AtomicInteger unchanged = new AtomicInteger();
+    private final Map<Path, FileState> pending = new ConcurrentHashMap<>();
+
+    GeneratedOutput(String generatorName, boolean skipUnchanged) {
+        this.generatorName = generatorName;
+        this.skipUnchanged = skipUnchanged;
+    }
+
+    /**
+     * Reads the switch straight from the additional properties; the writer
+     * is configured before {@code processOpts} normalizes them.
+     */
+    static boolean isSkipUnchangedRequested(Map<String, Object> additionalProperties) {
+        Object value = additionalProperties.get(SKIP_UNCHANGED_FILES);
+        return value == null || Boolean.parseBoolean(value.toString());
+    }
+
+    boolean isSkipUnchanged() {
+        return skipUnchanged;
+    }
+
+    /**
+     * Notes the state of {@code target} before the writer runs; the outcome
+     * is counted by {@link #report()}.
+     */
+    void record(File target) throws IOException {
+        if (!skipUnchanged) {
+            written.incrementAndGet();
+            return;
+        }
+
+        Path path = target.toPath().toAbsolutePath().normalize();
+        pending.put(path, FileState.of(path));
+    }
+
+    /**
+     * Counts a file whose content is known to match the file on disk.
+     */
+    void recordUnchanged() {
+        (skipUnchanged ? unchanged : written).incrementAndGet();
+    }
+
+    int writtenCount() {
+        return written.get();
+    }
+
+    int unchangedCount() {
+        return unchanged.get();
+    }
+
+    void report() {
+        if (skipUnchanged) {
+            tally();
+            LOGGER.info("{}: {} files written, {} unchanged files skipped.",
+                    generatorName, written.get(), unchanged.get());
+        } else {
+            LOGGER.info("{}: {} files written.", generatorName, written.get());
+        }
+    }
+
+    /**
+     * A target the writer skipped still has the file it had before; a
+     * written one was replaced by the writer's temp file (a new file key) or
+     * at least got a new mtime.
+     */
+    private void tally() {
+        pending.forEach((path, before) -> {
+            try {
+                boolean kept = before != FileState.MISSING && before.equals(FileState.of(path));
+                (kept ? unchanged : written).incrementAndGet();
+            } catch (IOException e) {
+                written.incrementAndGet();
+            }
+        });
+        pending.clear();
+    }
+
+    private record FileState(Object fileKey, FileTime lastModified, long size) {
+        static final FileState MISSING = new FileState(null, null, -1);
+
+        static FileState of(Path path) throws IOException {
+            if (!Files.isRegularFile(path)) {
+                return MISSING;
+            }
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return new FileState(attributes.fileKey(), attributes.lastModifiedTime(), attributes.size());
+        }
+    }
+}
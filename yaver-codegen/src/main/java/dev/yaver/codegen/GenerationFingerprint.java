@@ -0,0 +1,221 @@
+package dev.yaver.codegen;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openapitools.codegen.CodegenConfig;
+import org.openapitools.codegen.CodegenModel;
+
+/**
+ * Computes a stable SHA-256 fingerprint of a template bundle.
+ *
+ * <p>Maps are hashed in key order, collections in iteration order (string sets
+ * sorted), and the {@code Codegen*} value objects field by field, so two
+ * bundles that would render the same template input produce the same
+ * fingerprint across runs. Nested {@link CodegenModel} references (parent,
+ * children, interfaces) are reduced to their class name; everything a model
+ * template renders from them is copied onto the model itself during
+ * post-processing.</p>
+ */
+final class GenerationFingerprint {
+    private static final Map<Class<?>, List<Field>> FIELDS = new ConcurrentHashMap<>();
+    private static final String CODEGEN_VALUE_PREFIX = "org.openapitools.codegen.Codegen";
+
+    private final MessageDigest digest;
+    private final IdentityHashMap<Object, Integer> visited = new IdentityHashMap<>();
+    private int modelDepth;
+
+    private GenerationFingerprint() {
+        this.digest = sha256();
+    }
+
+    /**
+     * Fingerprints a template bundle, ignoring the given top-level keys.
+     *
+     * @return the hex fingerprint, or {@code null} when part of the bundle
+     *         cannot be inspected and the bundle must always be rendered
+     */
+    static String of(Map<String, ?> bundle, Set<String> ignoredKeys) {
+        GenerationFingerprint fingerprint = new GenerationFingerprint();
+        try {
+            fingerprint.token("bundle");
+            bundle.entrySet().stream()
+                    .filter(entry -> !ignoredKeys.contains(entry.getKey()))
+                    .sorted(Map.Entry.comparingByKey())
+                    .forEachOrdered(entry -> {
+                        fingerprint.token(entry.getKey());
+                        fingerprint.write(entry.getValue());
+                    });
+        } catch (RuntimeException e) {
+            return null;
+        }
+
+        return HexFormat.of().formatHex(fingerprint.digest.digest());
+    }
+
+    static String hash(String... parts) {
+        MessageDigest digest = sha256();
+        for (String part : parts) {
+            digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    static String hash(byte[] content) {
+        return HexFormat.of().formatHex(sha256().digest(content));
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available in this JVM.", e);
+        }
+    }
+
+    private void write(Object value) {
+        if (value == null) {
+            token("null");
+            return;
+        }
+
+        if (value instanceof CharSequence || value instanceof Number || value instanceof Boolean
+                || value instanceof Character) {
+            token(value.getClass().getSimpleName());
+            token(value.toString());
+            return;
+        }
+
+        if (value instanceof Enum<?> enumValue) {
+            token(enumValue.getDeclaringClass().getName());
+            token(enumValue.name());
+            return;
+        }
+
+        Integer reference = visited.get(value);
+        if (reference != null) {
+            token("ref");
+            token(reference.toString());
+            return;
+        }
+        visited.put(value, visited.size());
+
+        if (value instanceof Map<?, ?> map) {
+            writeMap(map);
+        } else if (value instanceof Collection<?> collection) {
+            writeCollection(collection);
+        } else if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            token("array");
+            token(Integer.toString(length));
+            for (int i = 0; i < length; i++) {
+                write(Array.get(value, i));
+            }
+        } else if (isCodegenValue(value.getClass())) {
+            writeCodegenValue(value);
+        } else {
+            String typeName = value.getClass().getName();
+            String text = String.valueOf(value);
+            token(typeName);
+            // Lambdas and other helpers only print their identity; the type is enough.
+            if (!text.startsWith(typeName + "@")) {
+                token(text);
+            }
+        }
+    }
+
+    private void writeMap(Map<?, ?> map) {
+        token("map");
+        token(Integer.toString(map.size()));
+        List<Map.Entry<?, ?>> entries = new ArrayList<>(map.entrySet());
+        entries.sort(Comparator.comparing(entry -> String.valueOf(entry.getKey())));
+        for (Map.Entry<?, ?> entry : entries) {
+            token(String.valueOf(entry.getKey()));
+            write(entry.getValue());
+        }
+    }
+
+    private void writeCollection(Collection<?> collection) {
+        token(collection instanceof Set ? "set" : "list");
+        token(Integer.toString(collection.size()));
+        if (collection instanceof Set && collection.stream().allMatch(item -> item instanceof CharSequence)) {
+            collection.stream()
+                    .map(Object::toString)
+                    .sorted()
+                    .forEachOrdered(this::token);
+            return;
+        }
+
+        for (Object item : collection) {
+            write(item);
+        }
+    }
+
+    private void writeCodegenValue(Object value) {
+        token(value.getClass().getName());
+        if (value instanceof CodegenModel model && modelDepth > 0) {
+            token(String.valueOf(model.classname));
+            return;
+        }
+
+        boolean isModel = value instanceof CodegenModel;
+        if (isModel) {
+            modelDepth++;
+        }
+        try {
+            for (Field field : fieldsOf(value.getClass())) {
+                token(field.getName());
+                write(field.get(value));
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot read " + value.getClass().getName(), e);
+        } finally {
+            if (isModel) {
+                modelDepth--;
+            }
+        }
+    }
+
+    private static boolean isCodegenValue(Class<?> type) {
+        return type.getName().startsWith(CODEGEN_VALUE_PREFIX)
+                && !CodegenConfig.class.isAssignableFrom(type);
+    }
+
+    private static List<Field> fieldsOf(Class<?> type) {
+        return FIELDS.computeIfAbsent(type, key -> {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> current = key; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    fields.add(field);
+                }
+            }
+            fields.sort(Comparator.comparing((Field field) -> field.getDeclaringClass().getName())
+                    .thenComparing(Field::getName));
+            return List.copyOf(fields);
+        });
+    }
+
+    private void token(String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+}
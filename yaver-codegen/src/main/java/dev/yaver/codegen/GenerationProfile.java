@@ -0,0 +1,285 @@
+package dev.yaver.codegen;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.model.ModelMap;
+import org.openapitools.codegen.model.ModelsMap;
+import org.openapitools.codegen.model.OperationsMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Per-phase timing and allocation profile of one generation run.
+ *
+ * <p>Enabled with the {@code yaverProfile} additional property. Every span
+ * records wall time plus the CPU time and allocated bytes of the thread it
+ * ran on ({@link ThreadMXBean}), aggregated per phase and per tag, model or
+ * rendered file. {@code true} logs a summary table at the end of the run; any
+ * other value is taken as the path of a JSON profile, written in addition.
+ * Phases nest (the response contract checks run inside
+ * {@code postProcessOperationsWithModels}), and with parallel rendering the
+ * render spans of different threads overlap, so wall times do not add up to
+ * the run time.</p>
+ */
+final class GenerationProfile {
+    static final String YAVER_PROFILE = "yaverProfile";
+    static final String YAVER_PROFILE_DESC = "Profile generation phases (wall time, CPU time, allocated bytes) "
+            + "per tag, model and file. 'true' logs a summary table; a file path also writes a JSON profile.";
+
+    static final String BEFORE_GENERATION = "beforeGeneration";
+    static final String FROM_MODEL = "fromModel";
+    static final String POST_PROCESS_MODELS = "postProcessModels";
+    static final String POST_PROCESS_ALL_MODELS = "postProcessAllModels";
+    static final String FROM_OPERATION = "fromOperation";
+    static final String POST_PROCESS_OPERATIONS = "postProcessOperationsWithModels";
+    static final String RESPONSE_CONTRACT = "responseContract";
+    static final String RENDER = "render";
+
+    static final GenerationProfile DISABLED = new GenerationProfile(null, null);
+
+    private static final List<String> PHASE_ORDER = List.of(BEFORE_GENERATION, FROM_MODEL, POST_PROCESS_MODELS,
+            POST_PROCESS_ALL_MODELS, FROM_OPERATION, POST_PROCESS_OPERATIONS, RESPONSE_CONTRACT, RENDER);
+    private static final Comparator<Map.Entry<List<String>, Totals>> SLOWEST_FIRST = Comparator
+            .comparingLong((Map.Entry<List<String>, Totals> entry) -> entry.getValue().wallNanos.sum())
+            .reversed();
+
+    private static final int SLOWEST_SUBJECTS = 15;
+    // The CLI only shows org.openapitools at INFO, so the profile goes through the generator's logger.
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultGenerator.class);
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final Span NO_SPAN = new Span(null, null, null, 0, 0, 0);
+
+    private final String generatorName;
+    private final Path jsonFile;
+    private final Map<String, Totals> phases = new ConcurrentHashMap<>();
+    private final Map<List<String>, Totals> subjects = new ConcurrentHashMap<>();
+
+    private GenerationProfile(String generatorName, Path jsonFile) {
+        this.generatorName = generatorName;
+        this.jsonFile = jsonFile;
+    }
+
+    /**
+     * Returns the profile requested by {@code yaverProfile}, or
+     * {@link #DISABLED}. The time since JVM start is recorded as the
+     * {@code beforeGeneration} phase; it covers CLI startup and spec parsing,
+     * and in a long-lived JVM also earlier jobs.
+     */
+    static GenerationProfile fromOptions(String generatorName, Map<String, Object> additionalProperties) {
+        Object value = additionalProperties.get(YAVER_PROFILE);
+        String setting = value == null ? "" : value.toString().trim();
+        if (setting.isEmpty() || "false".equalsIgnoreCase(setting)) {
+            return DISABLED;
+        }
+
+        GenerationProfile profile = new GenerationProfile(generatorName,
+                "true".equalsIgnoreCase(setting) ? null : Paths.get(setting).toAbsolutePath().normalize());
+        long uptimeNanos = TimeUnit.MILLISECONDS.toNanos(ManagementFactory.getRuntimeMXBean().getUptime());
+        profile.record(BEFORE_GENERATION, null, uptimeNanos, threadCpuTime(), threadAllocatedBytes());
+        return profile;
+    }
+
+    boolean isEnabled() {
+        return this != DISABLED;
+    }
+
+    Span start(String phase, String subject) {
+        if (!isEnabled()) {
+            return NO_SPAN;
+        }
+        return new Span(this, phase, subject, System.nanoTime(), threadCpuTime(), threadAllocatedBytes());
+    }
+
+    /**
+     * Subject of a model bundle: the class name of its (single) model.
+     */
+    static String subject(ModelsMap models) {
+        List<ModelMap> entries = models == null ? null : models.getModels();
+        return entries == null || entries.isEmpty() ? null : entries.get(0).getModel().classname;
+    }
+
+    /**
+     * Subject of an api bundle: its class name (one per tag).
+     */
+    static String subject(OperationsMap operations) {
+        return operations == null || operations.getOperations() == null
+                ? null
+                : operations.getOperations().getClassname();
+    }
+
+    /**
+     * Logs the summary table and writes the JSON profile, if requested.
+     */
+    void report() {
+        if (!isEnabled()) {
+            return;
+        }
+
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT,
+                "%s generation profile%n%-34s %8s %10s %10s %12s%n",
+                generatorName, "phase", "calls", "wall ms", "cpu ms", "alloc MB"));
+        orderedPhases().forEach(entry -> table.append(row(entry.getKey(), entry.getValue())));
+        table.append(String.format(Locale.ROOT, "slowest subjects%n"));
+        slowestSubjects().forEach(entry -> table.append(
+                row(entry.getKey().get(0) + " " + entry.getKey().get(1), entry.getValue())));
+        LOGGER.info("{}", table);
+
+        if (jsonFile != null) {
+            writeJson();
+        }
+    }
+
+    private void writeJson() {
+        List<Map<String, Object>> phaseEntries = new ArrayList<>();
+        orderedPhases().forEach(entry -> phaseEntries.add(
+                entry.getValue().toMap("phase", entry.getKey(), null, null)));
+
+        List<Map<String, Object>> subjectEntries = new ArrayList<>();
+        subjects.entrySet().stream()
+                .sorted(SLOWEST_FIRST)
+                .forEach(entry -> subjectEntries.add(entry.getValue().toMap(
+                        "phase", entry.getKey().get(0), "subject", entry.getKey().get(1))));
+
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("generator", generatorName);
+        document.put("phases", phaseEntries);
+        document.put("subjects", subjectEntries);
+        try {
+            Files.createDirectories(jsonFile.getParent());
+            new ObjectMapper()
+                    .enable(SerializationFeature.INDENT_OUTPUT)
+                    .writeValue(jsonFile.toFile(), document);
+            LOGGER.info("Generation profile written to {}.", jsonFile);
+        } catch (IOException e) {
+            LOGGER.warn("Could not write generation profile {}: {}", jsonFile, e.getMessage());
+        }
+    }
+
+    private List<Map.Entry<String, Totals>> orderedPhases() {
+        return phases.entrySet().stream()
+                .sorted(Comparator.comparingInt((Map.Entry<String, Totals> entry) -> {
+                    int index = PHASE_ORDER.indexOf(entry.getKey());
+                    return index < 0 ? PHASE_ORDER.size() : index;
+                }).thenComparing(Map.Entry::getKey))
+                .toList();
+    }
+
+    private List<Map.Entry<List<String>, Totals>> slowestSubjects() {
+        return subjects.entrySet().stream()
+                .sorted(SLOWEST_FIRST)
+                .limit(SLOWEST_SUBJECTS)
+                .toList();
+    }
+
+    private static String row(String name, Totals totals) {
+        return String.format(Locale.ROOT, "%-34s %8d %10.1f %10.1f %12.2f%n",
+                name,
+                totals.calls.sum(),
+                totals.wallNanos.sum() / 1_000_000.0,
+                totals.cpuNanos.sum() / 1_000_000.0,
+                totals.allocatedBytes.sum() / (1024.0 * 1024.0));
+    }
+
+    private void record(String phase, String subject, long wallNanos, long cpuNanos, long allocatedBytes) {
+        phases.computeIfAbsent(phase, key -> new Totals()).add(wallNanos, cpuNanos, allocatedBytes);
+        if (subject != null) {
+            subjects.computeIfAbsent(List.of(phase, subject), key -> new Totals())
+                    .add(wallNanos, cpuNanos, allocatedBytes);
+        }
+    }
+
+    private static long threadCpuTime() {
+        return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : 0;
+    }
+
+    private static long threadAllocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean allocations
+                && allocations.isThreadAllocatedMemorySupported()) {
+            return allocations.getCurrentThreadAllocatedBytes();
+        }
+        return 0;
+    }
+
+    /**
+     * One measured section; ended on the thread that started it.
+     */
+    static final class Span {
+        private final GenerationProfile profile;
+        private final String phase;
+        private final String subject;
+        private final long wallStart;
+        private final long cpuStart;
+        private final long allocatedStart;
+
+        private Span(GenerationProfile profile, String phase, String subject, long wallStart, long cpuStart,
+                long allocatedStart) {
+            this.profile = profile;
+            this.phase = phase;
+            this.subject = subject;
+            this.wallStart = wallStart;
+            this.cpuStart = cpuStart;
+            this.allocatedStart = allocatedStart;
+        }
+
+        void end() {
+            if (profile != null) {
+                profile.record(phase, subject, System.nanoTime() - wallStart, threadCpuTime() - cpuStart,
+                        threadAllocatedBytes() - allocatedStart);
+            }
+        }
+
+        /**
+         * Ends the span and returns {@code result}, so a hook can end its span
+         * in its return statement.
+         */
+        <T> T end(T result) {
+            end();
+            return result;
+        }
+    }
+
+    private static final class Totals {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder wallNanos = new LongAdder();
+        private final LongAdder cpuNanos = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+
+        void add(long wall, long cpu, long allocated) {
+            calls.increment();
+            wallNanos.add(wall);
+            cpuNanos.add(cpu);
+            allocatedBytes.add(allocated);
+        }
+
+        Map<String, Object> toMap(String firstKey, String firstValue, String secondKey, String secondValue) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put(firstKey, firstValue);
+            if (secondKey != null) {
+                entry.put(secondKey, secondValue);
+            }
+            entry.put("calls", calls.sum());
+            entry.put("wallMillis", wallNanos.sum() / 1_000_000.0);
+            entry.put("cpuMillis", cpuNanos.sum() / 1_000_000.0);
+            entry.put("allocatedBytes", allocatedBytes.sum());
+            return entry;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package dev.yaver.codegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.openapitools.codegen.CodegenConfig;
+import org.openapitools.codegen.DefaultCodegen;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tracks the inputs of every api and model file rendered by a generator so an
+ * unchanged file can be reused instead of rendered again.
+ *
+ * <p>The manifest lives in {@code .openapi-generator/yaver-incremental} inside
+ * the output directory. Each entry records the input fingerprint of the file
+ * together with the size and hash of the content that was written for it; a
+ * file is only reused when both still match, so hand edits and formatter
+ * rewrites are always regenerated.</p>
+ */
+final class IncrementalGeneration {
+    static final String MANIFEST_PATH = ".openapi-generator/yaver-incremental";
+
+    /**
+     * Bundle keys that change on every run without affecting api or model
+     * output: the gateway hides the generation timestamp, and the random
+     * project GUID is only used by solution and test project templates.
+     */
+    static final Set<String> VOLATILE_BUNDLE_KEYS = Set.of("generatedDate", "generatedYear", "packageGuid");
+
+    private static final String MANIFEST_HEADER = "# yaver incremental manifest v1";
+    private static final Logger LOGGER = LoggerFactory.getLogger(IncrementalGeneration.class);
+
+    private final CodegenConfig config;
+    private final Path outputDir;
+    private final Map<String, Entry> previous;
+    private final Map<String, Entry> current = new ConcurrentHashMap<>();
+    private volatile String generatorFingerprint;
+
+    private IncrementalGeneration(CodegenConfig config, Path outputDir, Map<String, Entry> previous) {
+        this.config = config;
+        this.outputDir = outputDir;
+        this.previous = previous;
+    }
+
+    static IncrementalGeneration load(CodegenConfig config) {
+        Path outputDir = Paths.get(config.getOutputDir()).toAbsolutePath().normalize();
+        return new IncrementalGeneration(config, outputDir, readManifest(outputDir));
+    }
+
+    /**
+     * Combines the generator, template and bundle fingerprints of one output file.
+     */
+    String fingerprint(String templateFile, String bundleFingerprint) {
+        return GenerationFingerprint.hash(generatorFingerprint(), templateFile, bundleFingerprint);
+    }
+
+    /**
+     * Returns the current content of {@code target} when it was produced from
+     * the same inputs and has not been modified since, otherwise {@code null}.
+     */
+    String readUnchanged(File target, String fingerprint) throws IOException {
+        String key = relativize(target);
+        Entry entry = previous.get(key);
+        Path path = target.toPath();
+        if (entry == null || !entry.fingerprint.equals(fingerprint) || !Files.isRegularFile(path)
+                || Files.size(path) != entry.size) {
+            return null;
+        }
+
+        byte[] content = Files.readAllBytes(path);
+        if (!entry.contentHash.equals(GenerationFingerprint.hash(content))) {
+            return null;
+        }
+
+        current.put(key, entry);
+        return new String(content, StandardCharsets.UTF_8);
+    }
+
+    void record(File target, String fingerprint, String content) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        current.put(relativize(target), new Entry(fingerprint, bytes.length, GenerationFingerprint.hash(bytes)));
+    }
+
+    int reusedCount() {
+        return (int) current.entrySet().stream()
+                .filter(entry -> entry.getValue().equals(previous.get(entry.getKey())))
+                .count();
+    }
+
+    int trackedCount() {
+        return current.size();
+    }
+
+    /**
+     * Writes the manifest for the files tracked in this run. Files that were
+     * not rendered in this run (removed tags or models) drop out of it.
+     */
+    void save() {
+        if (current.isEmpty()) {
+            return;
+        }
+
+        List<String> lines = new ArrayList<>();
+        lines.add(MANIFEST_HEADER);
+        new TreeMap<>(current).forEach((path, entry) ->
+                lines.add(entry.fingerprint + " " + entry.size + " " + entry.contentHash + " " + path));
+
+        Path manifest = outputDir.resolve(MANIFEST_PATH);
+        try {
+            Files.createDirectories(manifest.getParent());
+            Files.write(manifest, lines, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            LOGGER.warn("Could not write incremental generation manifest {}: {}", manifest, e.getMessage());
+        }
+    }
+
+    /**
+     * The template directory is only known once {@code processOpts} ran, so
+     * the generator fingerprint is computed on first use.
+     */
+    private String generatorFingerprint() {
+        String fingerprint = generatorFingerprint;
+        if (fingerprint == null) {
+            synchronized (this) {
+                fingerprint = generatorFingerprint;
+                if (fingerprint == null) {
+                    fingerprint = fingerprintGenerator(config);
+                    generatorFingerprint = fingerprint;
+                }
+            }
+        }
+        return fingerprint;
+    }
+
+    private String relativize(File target) {
+        Path path = target.toPath().toAbsolutePath().normalize();
+        return outputDir.relativize(path).toString().replace(File.separatorChar, '/');
+    }
+
+    private static Map<String, Entry> readManifest(Path outputDir) {
+        Map<String, Entry> entries = new ConcurrentHashMap<>();
+        Path manifest = outputDir.resolve(MANIFEST_PATH);
+        if (!Files.isRegularFile(manifest)) {
+            return entries;
+        }
+
+        try {
+            for (String line : Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+
+                String[] parts = line.split(" ", 4);
+                if (parts.length != 4) {
+                    continue;
+                }
+
+                entries.put(parts[3], new Entry(parts[0], Long.parseLong(parts[1]), parts[2]));
+            }
+        } catch (IOException | NumberFormatException e) {
+            LOGGER.warn("Ignoring unreadable incremental generation manifest {}: {}", manifest, e.getMessage());
+            entries.clear();
+        }
+
+        return entries;
+    }
+
+    /**
+     * Fingerprints everything outside the template bundle that shapes the
+     * output: the generator build itself and any user supplied template
+     * directory. When the generator build cannot be read, the fingerprint is
+     * random so nothing is reused.
+     */
+    private static String fingerprintGenerator(CodegenConfig config) {
+        try {
+            String templates = "embedded";
+            String templateDir = config.templateDir();
+            if (templateDir != null && !templateDir.equals(config.embeddedTemplateDir())
+                    && new File(templateDir).isDirectory()) {
+                templates = hashTree(Paths.get(templateDir));
+            }
+
+            return GenerationFingerprint.hash(
+                    config.getName(),
+                    String.valueOf(DefaultCodegen.class.getPackage().getImplementationVersion()),
+                    hashCodeSource(config.getClass()),
+                    templates);
+        } catch (IOException | URISyntaxException | RuntimeException e) {
+            LOGGER.warn("Incremental generation disabled for this run, generator build cannot be fingerprinted: {}",
+                    e.getMessage());
+            return UUID.randomUUID().toString();
+        }
+    }
+
+    private static String hashCodeSource(Class<?> type) throws IOException, URISyntaxException {
+        CodeSource codeSource = type.getProtectionDomain().getCodeSource();
+        URL location = codeSource == null ? null : codeSource.getLocation();
+        if (location == null) {
+            throw new IOException("no code source for " + type.getName());
+        }
+
+        Path path = Paths.get(location.toURI());
+        if (Files.isDirectory(path)) {
+            return hashTree(path);
+        }
+
+        MessageDigest digest = GenerationFingerprint.sha256();
+        try (InputStream input = new DigestInputStream(Files.newInputStream(path), digest)) {
+            input.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String hashTree(Path root) throws IOException {
+        MessageDigest digest = GenerationFingerprint.sha256();
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(root)) {
+            files = walk.filter(Files::isRegularFile).sorted().toList();
+        }
+
+        for (Path file : files) {
+            digest.update(root.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(Files.readAllBytes(file));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private record Entry(String fingerprint, long size, String contentHash) {
+    }
+}
@@ -0,0 +1,176 @@
+package dev.yaver.codegen;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.openapitools.codegen.CodegenProperty;
+
+/**
+ * Keeps the {@code [Key(n)]} index of every MessagePack DTO member stable
+ * across spec revisions.
+ *
+ * <p>Keys used to follow the member order, so adding or reordering a
+ * property renumbered the keys after it and a gateway and service built from
+ * different revisions of the spec could no longer read each other. The
+ * manifest records the key of each property (by its JSON name) per model.
+ * New properties get the next unused key, removed ones keep theirs as
+ * retired so it is never handed out again, and a property that comes back
+ * gets a new key, as its shape may have changed.</p>
+ *
+ * <p>Without a manifest, keys are assigned in member order starting at 1, as
+ * before. The manifest is a wire contract rather than a cache: it must be
+ * kept (usually committed) between runs, and an unreadable one fails the
+ * generation instead of silently renumbering.</p>
+ */
+final class MessagePackKeyManifest {
+    static final String DEFAULT_MANIFEST_PATH = ".openapi-generator/yaver-messagepack-keys";
+    static final String MESSAGEPACK_KEY_MANIFEST = "messagePackKeyManifest";
+    static final String MESSAGEPACK_KEY_MANIFEST_DESC = "File recording the MessagePack [Key(n)] index of every DTO "
+            + "property, so new properties are appended and removed ones never reuse their key. Defaults to "
+            + DEFAULT_MANIFEST_PATH + " inside the output directory.";
+    static final String KEY_EXTENSION = "x-yaver-messagepack-key";
+
+    private static final String MANIFEST_HEADER = "# yaver messagepack keys v1";
+    private static final String LIVE = "live";
+    private static final String RETIRED = "retired";
+
+    private final Path manifest;
+    private final Map<String, ModelKeys> models;
+    private boolean changed;
+
+    private MessagePackKeyManifest(Path manifest, Map<String, ModelKeys> models, boolean changed) {
+        this.manifest = manifest;
+        this.models = models;
+        this.changed = changed;
+    }
+
+    static MessagePackKeyManifest fromOptions(String outputDir, Map<String, Object> additionalProperties) {
+        Object path = additionalProperties.get(MESSAGEPACK_KEY_MANIFEST);
+        Path manifest = path == null || path.toString().isBlank()
+                ? Paths.get(outputDir).resolve(DEFAULT_MANIFEST_PATH)
+                : Paths.get(path.toString());
+        return load(manifest.toAbsolutePath().normalize());
+    }
+
+    static MessagePackKeyManifest load(Path manifest) {
+        if (!Files.isRegularFile(manifest)) {
+            return new MessagePackKeyManifest(manifest, new TreeMap<>(), true);
+        }
+
+        Map<String, ModelKeys> models = new TreeMap<>();
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(manifest, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read MessagePack key manifest " + manifest, e);
+        }
+        for (String line : lines) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+
+            String[] parts = line.split(" ", 4);
+            int key;
+            try {
+                key = parts.length == 4 ? Integer.parseInt(parts[1]) : 0;
+            } catch (NumberFormatException e) {
+                key = 0;
+            }
+            if (key <= 0 || !(LIVE.equals(parts[2]) || RETIRED.equals(parts[2]))) {
+                throw new IllegalArgumentException("Invalid line in MessagePack key manifest " + manifest + ": '"
+                        + line + "'. Expected '<model> <key> live|retired <property>'.");
+            }
+
+            ModelKeys keys = models.computeIfAbsent(parts[0], name -> new ModelKeys());
+            if (!keys.reserve(key, parts[3], LIVE.equals(parts[2]))) {
+                throw new IllegalArgumentException("MessagePack key manifest " + manifest + " assigns key " + key
+                        + " of " + parts[0] + " twice, or property " + parts[3] + " two live keys.");
+            }
+        }
+        return new MessagePackKeyManifest(manifest, models, false);
+    }
+
+    /**
+     * Sets {@link #KEY_EXTENSION} on every member of {@code model}, keeping
+     * recorded keys, appending new ones and retiring the keys of properties
+     * the model no longer has.
+     */
+    void assign(String model, List<CodegenProperty> vars) {
+        if (vars == null) {
+            return;
+        }
+
+        ModelKeys keys = models.computeIfAbsent(model, name -> new ModelKeys());
+        Set<String> present = new HashSet<>();
+        for (CodegenProperty property : vars) {
+            present.add(property.baseName);
+            Integer key = keys.live.get(property.baseName);
+            if (key == null) {
+                key = keys.nextKey();
+                keys.reserve(key, property.baseName, true);
+                changed = true;
+            }
+            property.vendorExtensions.put(KEY_EXTENSION, key);
+        }
+        changed |= keys.retireAllBut(present);
+    }
+
+    /**
+     * Writes the manifest when keys were added or retired in this run.
+     * Models that were not generated in this run are kept as they are.
+     */
+    void save() {
+        if (!changed) {
+            return;
+        }
+
+        List<String> lines = new ArrayList<>();
+        lines.add(MANIFEST_HEADER);
+        models.forEach((model, keys) -> keys.properties.forEach((key, property) ->
+                lines.add(model + " " + key + " " + (key.equals(keys.live.get(property)) ? LIVE : RETIRED)
+                        + " " + property)));
+        try {
+            Files.createDirectories(manifest.getParent());
+            Files.write(manifest, lines, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write MessagePack key manifest " + manifest, e);
+        }
+        changed = false;
+    }
+
+    private static final class ModelKeys {
+        /** Property of every key ever handed out, live or retired. */
+        private final TreeMap<Integer, String> properties = new TreeMap<>();
+        private final Map<String, Integer> live = new LinkedHashMap<>();
+
+        boolean reserve(int key, String property, boolean isLive) {
+            if (properties.containsKey(key) || (isLive && live.containsKey(property))) {
+                return false;
+            }
+            properties.put(key, property);
+            if (isLive) {
+                live.put(property, key);
+            }
+            return true;
+        }
+
+        int nextKey() {
+            return properties.isEmpty() ? 1 : properties.lastKey() + 1;
+        }
+
+        boolean retireAllBut(Set<String> present) {
+            return live.keySet().retainAll(present);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package dev.yaver.codegen;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Types the generated {@code GeneratedDtoMessagePackResolver} registers
+ * formatters for and checks at startup.
+ *
+ * <p>The generated DTOs (readonly structs with {@code [MessagePackObject]})
+ * are covered by the MessagePack source generator. Everything around them
+ * gets an explicit formatter, so the closed resolver never needs
+ * MessagePack's dynamic (reflection-based) resolvers: enums, nullable DTOs
+ * and enums, and the closure of generic collection instantiations reachable
+ * from the model properties and RPC results ({@code Dictionary<string,
+ * List<T>>} registers the dictionary and the list). Every collected type is
+ * listed for {@code EnsureAllFormattersResolved}, including generic types
+ * without a known formatter, so the self-check reports them.</p>
+ */
+final class MessagePackTypeRegistry {
+    static final String FORMATTERS = "x-yaver-messagepack-formatters";
+    static final String CHECKED_TYPES = "x-yaver-messagepack-checked-types";
+
+    /** Formatter per generic type definition (name and arity). */
+    private static final Map<String, String> GENERIC_FORMATTERS = Map.ofEntries(
+            Map.entry("List`1", "ListFormatter"),
+            Map.entry("IList`1", "InterfaceListFormatter2"),
+            Map.entry("ICollection`1", "InterfaceCollectionFormatter2"),
+            Map.entry("IEnumerable`1", "InterfaceEnumerableFormatter"),
+            Map.entry("IReadOnlyList`1", "InterfaceReadOnlyListFormatter"),
+            Map.entry("IReadOnlyCollection`1", "InterfaceReadOnlyCollectionFormatter"),
+            Map.entry("HashSet`1", "HashSetFormatter"),
+            Map.entry("ISet`1", "InterfaceSetFormatter"),
+            Map.entry("Dictionary`2", "DictionaryFormatter"),
+            Map.entry("IDictionary`2", "InterfaceDictionaryFormatter"),
+            Map.entry("IReadOnlyDictionary`2", "InterfaceReadOnlyDictionaryFormatter"));
+
+    private final Set<String> dtoTypes = new LinkedHashSet<>();
+    private final Set<String> enumTypes = new LinkedHashSet<>();
+    private final Set<String> nullableTypes = new LinkedHashSet<>();
+    private final Map<String, String> genericFormatters = new LinkedHashMap<>();
+    private final Set<String> genericTypes = new LinkedHashSet<>();
+    private final Set<String> resultTypes = new LinkedHashSet<>();
+
+    void addDto(String type) {
+        dtoTypes.add(type);
+    }
+
+    void addEnum(String type) {
+        enumTypes.add(type);
+    }
+
+    /**
+     * Records a C# type as declared on a generated member, with every
+     * generic instantiation and nullable type nested in it.
+     */
+    void addType(String type) {
+        String trimmed = type.trim();
+        if (trimmed.endsWith("?")) {
+            String underlying = trimmed.substring(0, trimmed.length() - 1).trim();
+            nullableTypes.add(underlying);
+            addType(underlying);
+            return;
+        }
+        if (trimmed.endsWith("[]")) {
+            String element = trimmed.substring(0, trimmed.length() - 2).trim();
+            if (!"byte".equals(element)) {
+                genericTypes.add(trimmed);
+                genericFormatters.put(trimmed, "ArrayFormatter<" + element + ">");
+            }
+            addType(element);
+            return;
+        }
+
+        int open = trimmed.indexOf('<');
+        if (open < 0 || !trimmed.endsWith(">")) {
+            return;
+        }
+
+        List<String> arguments = typeArguments(trimmed.substring(open + 1, trimmed.length() - 1));
+        String formatter = GENERIC_FORMATTERS.get(trimmed.substring(0, open).trim() + "`" + arguments.size());
+        genericTypes.add(trimmed);
+        if (formatter != null) {
+            genericFormatters.put(trimmed, formatter + "<" + String.join(", ", arguments) + ">");
+        }
+        arguments.forEach(this::addType);
+    }
+
+    /**
+     * Records the payload type of an RPC result.
+     */
+    void addResultType(String type) {
+        resultTypes.add(type);
+        addType(type);
+    }
+
+    /**
+     * Puts the formatter and self-check type lists into the template
+     * properties, replacing earlier ones.
+     */
+    void publish(Map<String, Object> additionalProperties) {
+        List<String> formatters = new ArrayList<>();
+        Set<String> checkedTypes = new LinkedHashSet<>(dtoTypes);
+        for (String type : enumTypes) {
+            formatters.add("GenericEnumFormatter<" + type + ">");
+            checkedTypes.add(type);
+        }
+        for (String type : nullableTypes) {
+            if (dtoTypes.contains(type) || enumTypes.contains(type)) {
+                formatters.add("NullableFormatter<" + type + ">");
+                checkedTypes.add(type + "?");
+            }
+        }
+        formatters.addAll(genericFormatters.values());
+        checkedTypes.addAll(genericTypes);
+        checkedTypes.addAll(resultTypes);
+
+        additionalProperties.put(FORMATTERS, formatters);
+        additionalProperties.put(CHECKED_TYPES, new ArrayList<>(checkedTypes));
+    }
+
+    /**
+     * Splits the top-level type arguments of a generic type.
+     */
+    private static List<String> typeArguments(String arguments) {
+        List<String> result = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i < arguments.length(); i++) {
+            char c = arguments.charAt(i);
+            if (c == '<') {
+                depth++;
+            } else if (c == '>') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                result.add(arguments.substring(start, i).trim());
+                start = i + 1;
+            }
+        }
+        result.add(arguments.substring(start).trim());
+        return result;
+    }
+}
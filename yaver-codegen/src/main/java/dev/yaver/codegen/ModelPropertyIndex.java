@@ -0,0 +1,95 @@
+package dev.yaver.codegen;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.openapitools.codegen.CodegenModel;
+import org.openapitools.codegen.CodegenProperty;
+
+/**
+ * Run-wide index of the unique properties of every model, in first-seen order
+ * over {@code vars}, {@code allVars}, {@code readWriteVars},
+ * {@code requiredVars}, {@code optionalVars}, {@code parentRequiredVars} and
+ * {@code nonNullableVars}, deduplicated by base name.
+ *
+ * <p>Each model is indexed once and then served from the cache. The base
+ * generator still edits the property lists between
+ * {@code postProcessModels} and {@code postProcessAllModels} (composed
+ * types lose the properties of their members), so an entry is rebuilt when
+ * one of the lists was replaced or changed size.</p>
+ */
+final class ModelPropertyIndex {
+    private final Map<CodegenModel, Entry> entries = new IdentityHashMap<>();
+
+    /**
+     * Returns the unique properties of {@code model}; the list is read-only
+     * and shared by all callers.
+     */
+    List<CodegenProperty> properties(CodegenModel model) {
+        List<?>[] lists = propertyLists(model);
+        Entry entry = entries.get(model);
+        if (entry == null || !entry.matches(lists)) {
+            entry = new Entry(lists);
+            entries.put(model, entry);
+        }
+        return entry.properties;
+    }
+
+    private static List<?>[] propertyLists(CodegenModel model) {
+        return new List<?>[] {
+                model.vars,
+                model.allVars,
+                model.readWriteVars,
+                model.requiredVars,
+                model.optionalVars,
+                model.parentRequiredVars,
+                model.nonNullableVars
+        };
+    }
+
+    private static final class Entry {
+        private final List<?>[] lists;
+        private final int[] sizes;
+        private final List<CodegenProperty> properties;
+
+        @SuppressWarnings("unchecked")
+        Entry(List<?>[] lists) {
+            this.lists = lists;
+            this.sizes = new int[lists.length];
+
+            int capacity = 0;
+            for (int i = 0; i < lists.length; i++) {
+                sizes[i] = lists[i] == null ? -1 : lists[i].size();
+                capacity = Math.max(capacity, sizes[i]);
+            }
+
+            List<CodegenProperty> unique = new ArrayList<>(capacity);
+            Set<String> baseNames = new HashSet<>(Math.max(16, capacity * 2));
+            for (List<?> list : lists) {
+                if (list == null) {
+                    continue;
+                }
+                for (CodegenProperty property : (List<CodegenProperty>) list) {
+                    if (baseNames.add(property.baseName)) {
+                        unique.add(property);
+                    }
+                }
+            }
+            this.properties = Collections.unmodifiableList(unique);
+        }
+
+        boolean matches(List<?>[] current) {
+            for (int i = 0; i < lists.length; i++) {
+                if (current[i] != lists[i] || (current[i] == null ? -1 : current[i].size()) != sizes[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
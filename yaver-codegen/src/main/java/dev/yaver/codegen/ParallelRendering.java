@@ -0,0 +1,137 @@
+package dev.yaver.codegen;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Opt-in parallel rendering stage of {@link YaverTemplatingEngine}.
+ *
+ * <p>The generator pipeline asks for one file at a time and writes it right
+ * away. Once a bundle is final, this stage renders the bundle's remaining
+ * templates on a bounded fork-join pool, and the pipeline
+ * picks up the finished content when it asks for the file. Files are still
+ * written by the pipeline in its own order, so the output does not depend on
+ * scheduling. Bundles are rendered through read-only views.</p>
+ */
+final class ParallelRendering {
+    static final String PARALLEL_RENDERING = "parallelRendering";
+    static final String PARALLEL_RENDERING_DESC = "Render independent api and model files in parallel on a pool "
+            + "sized to the available processors. Output is identical to sequential rendering.";
+
+    private final ForkJoinPool pool;
+    private final Map<Key, Future<String>> pending = new ConcurrentHashMap<>();
+
+    ParallelRendering(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    static boolean isRequested(Map<String, Object> additionalProperties) {
+        Object value = additionalProperties.get(PARALLEL_RENDERING);
+        return value instanceof Boolean flag ? flag : value != null && Boolean.parseBoolean(value.toString());
+    }
+
+    /**
+     * Starts rendering {@code templates} for {@code bundle}, except
+     * {@code current}, unless already started.
+     */
+    void renderAhead(Map<String, Object> bundle, Collection<String> templates, String current, Renderer renderer) {
+        Map<String, Object> frozen = Collections.unmodifiableMap(bundle);
+        for (String templateFile : templates) {
+            if (templateFile.equals(current)) {
+                continue;
+            }
+            pending.computeIfAbsent(new Key(bundle, templateFile), key -> pool.submit(() -> {
+                try {
+                    return renderer.render(bundle, frozen, templateFile);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        }
+    }
+
+    /**
+     * Returns the content rendered ahead for this bundle and template, or
+     * renders it on the calling thread.
+     */
+    String take(Map<String, Object> bundle, String templateFile, Renderer renderer) throws IOException {
+        Future<String> future = pending.remove(new Key(bundle, templateFile));
+        if (future == null) {
+            return renderer.render(bundle, bundle, templateFile);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while rendering " + templateFile, e);
+        } catch (CancellationException e) {
+            return renderer.render(bundle, bundle, templateFile);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IOException("Could not render " + templateFile, cause);
+        }
+    }
+
+    /**
+     * Drops files the pipeline never asked for (ignored or skipped) and
+     * stops the pool.
+     */
+    void close() {
+        pending.values().forEach(future -> future.cancel(false));
+        pending.clear();
+        pool.shutdown();
+    }
+
+    /**
+     * Renders {@code templateFile} for {@code bundle} with {@code context} as
+     * the template context.
+     */
+    @FunctionalInterface
+    interface Renderer {
+        String render(Map<String, Object> bundle, Map<String, Object> context, String templateFile)
+                throws IOException;
+    }
+
+    /**
+     * Bundles are matched by identity: the pipeline passes the same map
+     * instance for every template of a bundle, and comparing bundles by
+     * content would be far more expensive than rendering them.
+     */
+    private static final class Key {
+        private final Map<String, Object> bundle;
+        private final String templateFile;
+
+        Key(Map<String, Object> bundle, String templateFile) {
+            this.bundle = bundle;
+            this.templateFile = templateFile;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && key.bundle == bundle && key.templateFile.equals(templateFile);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(bundle) + templateFile.hashCode();
+        }
+    }
+}
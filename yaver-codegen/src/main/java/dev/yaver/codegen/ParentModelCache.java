@@ -0,0 +1,36 @@
+package dev.yaver.codegen;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import org.openapitools.codegen.CodegenModel;
+
+import io.swagger.v3.oas.models.media.Schema;
+
+/**
+ * Per-run memo of the parent models the C# generators build in
+ * {@code fromModel} to reconcile inherited properties and enums.
+ *
+ * <p>Every subtype needs its parent's {@link CodegenModel}, and building it
+ * runs the full property and enum processing of the base generator, so a
+ * base type with many subtypes used to be rebuilt once per subtype. Parents
+ * are only read by the callers, never changed, so one instance per schema
+ * name is shared. An entry is replaced when the name resolves to a different
+ * schema instance, for example after the spec was set again.</p>
+ */
+final class ParentModelCache {
+    private final Map<String, Entry> models = new HashMap<>();
+
+    CodegenModel get(String name, Schema<?> schema, BiFunction<String, Schema<?>, CodegenModel> builder) {
+        Entry entry = models.get(name);
+        if (entry == null || entry.schema != schema) {
+            entry = new Entry(schema, builder.apply(name, schema));
+            models.put(name, entry);
+        }
+        return entry.model;
+    }
+
+    private record Entry(Schema<?> schema, CodegenModel model) {
+    }
+}
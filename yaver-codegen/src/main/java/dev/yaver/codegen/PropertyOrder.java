@@ -0,0 +1,52 @@
+package dev.yaver.codegen;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+
+import org.openapitools.codegen.CodegenProperty;
+
+/**
+ * Member order of model properties in the C# generators: non-nullable
+ * properties first, then within each group the ones without a default value
+ * first, then by name.
+ *
+ * <p>This is the order the former two sorts produced (by name, then stably by
+ * nullability and default value), computed in one stable sort over keys
+ * taken once per property. The order decides the MessagePack
+ * {@code [Key(n)]} indices of the gateway models, so it must not change.</p>
+ */
+final class PropertyOrder {
+    private static final Comparator<Ranked> ORDER = Comparator.comparingInt(Ranked::rank)
+            .thenComparing(Ranked::name);
+
+    private PropertyOrder() {
+    }
+
+    static void sort(List<CodegenProperty> properties) {
+        if (properties == null || properties.size() < 2) {
+            return;
+        }
+
+        Ranked[] ranked = new Ranked[properties.size()];
+        int i = 0;
+        for (CodegenProperty property : properties) {
+            ranked[i++] = new Ranked(rank(property), property.name, property);
+        }
+        Arrays.sort(ranked, ORDER);
+
+        ListIterator<CodegenProperty> iterator = properties.listIterator();
+        for (Ranked entry : ranked) {
+            iterator.next();
+            iterator.set(entry.property());
+        }
+    }
+
+    private static int rank(CodegenProperty property) {
+        return (property.isNullable ? 2 : 0) + (property.defaultValue != null ? 1 : 0);
+    }
+
+    private record Ranked(int rank, String name, CodegenProperty property) {
+    }
+}
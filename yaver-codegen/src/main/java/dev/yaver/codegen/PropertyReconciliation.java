@@ -0,0 +1,121 @@
+package dev.yaver.codegen;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.openapitools.codegen.CodegenProperty;
+
+/**
+ * Hashed replacements for the property list reconciliation steps of the C#
+ * generators, which used to scan a list once per property.
+ *
+ * <p>Base name sets used by {@link #containsBaseName} are cached per list
+ * instance for the run. The base generator only removes properties from
+ * these lists, so a set is rebuilt when its list changed size; the
+ * properties {@link #addMissingByBaseName} appends are added to the cached
+ * set of the target list.</p>
+ */
+final class PropertyReconciliation {
+    private final Map<List<CodegenProperty>, BaseNames> baseNames = new IdentityHashMap<>();
+
+    /**
+     * Returns whether {@code properties} holds a property named
+     * {@code baseName}.
+     */
+    boolean containsBaseName(List<CodegenProperty> properties, String baseName) {
+        if (properties == null || properties.isEmpty()) {
+            return false;
+        }
+
+        BaseNames names = baseNames.get(properties);
+        if (names == null || names.size != properties.size()) {
+            names = new BaseNames(properties);
+            baseNames.put(properties, names);
+        }
+        return names.names.contains(baseName);
+    }
+
+    /**
+     * Appends every property of {@code source} whose base name is not yet in
+     * {@code target}, in source order, and reports each one to
+     * {@code added}.
+     */
+    void addMissingByBaseName(List<CodegenProperty> target, List<CodegenProperty> source,
+            Consumer<CodegenProperty> added) {
+        if (source == null || source.isEmpty()) {
+            return;
+        }
+
+        Set<String> names = baseNamesOf(target);
+        for (CodegenProperty property : source) {
+            if (names.add(property.baseName)) {
+                added.accept(property);
+                target.add(property);
+            }
+        }
+        baseNames.put(target, new BaseNames(target.size(), names));
+    }
+
+    /**
+     * Removes the properties in the second half of {@code properties} that
+     * equal a property earlier in the list, like the former backwards
+     * {@code indexOf} scan did, in one hashed pass.
+     */
+    static void removeLaterDuplicates(List<CodegenProperty> properties) {
+        if (properties == null || properties.size() < 2) {
+            return;
+        }
+
+        int length = properties.size() - 1;
+        int firstChecked = length / 2 + 1;
+        Set<CodegenProperty> seen = new HashSet<>(properties.subList(0, firstChecked));
+        boolean[] duplicates = null;
+        for (int i = firstChecked; i <= length; i++) {
+            if (!seen.add(properties.get(i))) {
+                if (duplicates == null) {
+                    duplicates = new boolean[properties.size()];
+                }
+                duplicates[i] = true;
+            }
+        }
+        if (duplicates == null) {
+            return;
+        }
+
+        List<CodegenProperty> kept = new ArrayList<>(properties.size());
+        for (int i = 0; i < properties.size(); i++) {
+            if (!duplicates[i]) {
+                kept.add(properties.get(i));
+            }
+        }
+        properties.clear();
+        properties.addAll(kept);
+    }
+
+    private static Set<String> baseNamesOf(List<CodegenProperty> properties) {
+        Set<String> names = new HashSet<>(Math.max(16, properties.size() * 2));
+        for (CodegenProperty property : properties) {
+            names.add(property.baseName);
+        }
+        return names;
+    }
+
+    private static final class BaseNames {
+        private final int size;
+        private final Set<String> names;
+
+        BaseNames(List<CodegenProperty> properties) {
+            this(properties.size(), baseNamesOf(properties));
+        }
+
+        BaseNames(int size, Set<String> names) {
+            this.size = size;
+            this.names = names;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package dev.yaver.codegen;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import org.openapitools.codegen.CodegenOperation;
+
+/**
+ * Chooses the GET operations whose identical concurrent RPC calls are
+ * coalesced into one (single flight).
+ *
+ * <p>A coalesced endpoint sends its command through
+ * {@code GatewayRequestCoalescer}: while a call with the same
+ * {@code *CommandKey} (every path, query and header param of the command)
+ * is in flight, later requests wait for it and send its {@code Result}
+ * instead of calling the service again. The shared call is not cancelled
+ * when the request that started it is; every waiter only stops waiting on
+ * its own cancellation.</p>
+ *
+ * <p>Operations opt in with {@code x-yaver-coalesce: true}, or all GET
+ * operations with a response body and no security requirements with the
+ * {@code requestCoalescing} default; {@code x-yaver-coalesce: false} opts
+ * out. The key does not name the caller and every waiter gets the result of
+ * the first caller's call, so secured operations, whose response may depend
+ * on who is asking, are only coalesced when they opt in.</p>
+ */
+final class RequestCoalescing {
+    static final String REQUEST_COALESCING = "requestCoalescing";
+    static final String REQUEST_COALESCING_DESC = "Coalesce identical concurrent RPC calls of GET operations "
+            + "without security requirements or an x-yaver-coalesce extension into one in-flight call, fanning its Result out to every "
+            + "waiting request.";
+
+    static final String COALESCE_EXTENSION = "x-yaver-coalesce";
+    static final String COALESCED_EXTENSION = "x-yaver-coalesced";
+    static final String COMMAND_KEY_EXTENSION = "x-yaver-command-key";
+
+    private final boolean coalescingByDefault;
+
+    private RequestCoalescing(boolean coalescingByDefault) {
+        this.coalescingByDefault = coalescingByDefault;
+    }
+
+    static RequestCoalescing fromOptions(Map<String, Object> additionalProperties) {
+        return new RequestCoalescing(isTrue(additionalProperties.get(REQUEST_COALESCING)));
+    }
+
+    /**
+     * Marks {@code op} as coalesced ({@code x-yaver-coalesced}) and sets the
+     * members of its command key. Must run after the success response of the
+     * operation was resolved.
+     *
+     * @return whether the operation is coalesced
+     */
+    boolean apply(CodegenOperation op) {
+        Object requested = op.vendorExtensions.get(COALESCE_EXTENSION);
+        boolean supported = "get".equals(op.httpMethod.toLowerCase(Locale.ROOT))
+                && !Boolean.TRUE.equals(op.vendorExtensions.get("successResponseBodyless"))
+                && Boolean.TRUE.equals(op.vendorExtensions.get("hasSuccessResponse"))
+                && !Boolean.TRUE.equals(op.vendorExtensions.get(FileUploadMapping.HAS_FILE_PARAMS_EXTENSION));
+        boolean coalesced = requested == null
+                ? coalescingByDefault && supported && !op.hasAuthMethods
+                : isTrue(requested);
+        if (coalesced && !supported) {
+            throw new IllegalArgumentException("Invalid " + COALESCE_EXTENSION + " of operation "
+                    + ResponseCaching.operationId(op)
+                    + ": only GET operations with a success response body and no file params can be coalesced.");
+        }
+
+        op.vendorExtensions.put(COALESCED_EXTENSION, coalesced);
+        if (coalesced) {
+            op.vendorExtensions.put(COMMAND_KEY_EXTENSION, ResponseCaching.keyMembers(
+                    Stream.of(op.pathParams, op.queryParams, op.headerParams)
+                            .filter(Objects::nonNull)
+                            .flatMap(List::stream)
+                            .toList()));
+        }
+        return coalesced;
+    }
+
+    private static boolean isTrue(Object value) {
+        return value instanceof Boolean flag ? flag : value != null && Boolean.parseBoolean(value.toString());
+    }
+}
@@ -0,0 +1,197 @@
+package dev.yaver.codegen;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import org.openapitools.codegen.CodegenOperation;
+import org.openapitools.codegen.CodegenParameter;
+
+/**
+ * Reads the {@code x-yaver-cache} extension of GET operations and describes
+ * the response cache the endpoint uses.
+ *
+ * <p>A cached endpoint answers from {@code GatewayResponseCache} while the
+ * entry lives and only sends the RPC command on a miss. Only successful
+ * results are stored, as MessagePack bytes, so a hit hands out a fresh copy
+ * and the cache is bounded by the total size of the entries
+ * ({@code responseCacheSizeLimit}).</p>
+ *
+ * <pre>
+ * x-yaver-cache:
+ *   ttl: 300          # seconds, required
+ *   varyBy: [id, lang] # path, query or header params; default all path and query params
+ * </pre>
+ *
+ * <p>The entry key is a generated {@code *CacheKey} record struct of the
+ * {@code varyBy} params, so keys of different operations never collide.
+ * Array params are joined into one string. Secured operations must vary by
+ * the caller, the {@code Authorization} header or the API key param of
+ * their security scheme, or every caller would get the first caller's
+ * response.</p>
+ */
+final class ResponseCaching {
+    static final String RESPONSE_CACHE_SIZE_LIMIT = "responseCacheSizeLimit";
+    static final String RESPONSE_CACHE_SIZE_LIMIT_DESC = "Size limit in bytes of the MessagePack-serialized "
+            + "responses kept by GatewayResponseCache for operations with x-yaver-cache.";
+    static final long DEFAULT_SIZE_LIMIT = 64L * 1024 * 1024;
+
+    static final String CACHE_EXTENSION = "x-yaver-cache";
+    static final String CACHED_EXTENSION = "x-yaver-cached";
+    static final String CACHE_TTL_EXTENSION = "x-yaver-cache-ttl-seconds";
+    static final String CACHE_KEY_EXTENSION = "x-yaver-cache-key";
+
+    private ResponseCaching() {
+    }
+
+    static ResponseCaching fromOptions(Map<String, Object> additionalProperties) {
+        Object value = additionalProperties.get(RESPONSE_CACHE_SIZE_LIMIT);
+        long sizeLimit = value == null || value.toString().isBlank()
+                ? DEFAULT_SIZE_LIMIT
+                : positive(value, RESPONSE_CACHE_SIZE_LIMIT);
+        additionalProperties.put(RESPONSE_CACHE_SIZE_LIMIT, sizeLimit);
+        return new ResponseCaching();
+    }
+
+    /**
+     * Marks {@code op} as cached ({@code x-yaver-cached}) and sets its TTL and
+     * cache key params. Must run after the success response of the operation
+     * was resolved.
+     *
+     * @return whether the operation is cached
+     */
+    boolean apply(CodegenOperation op) {
+        Object requested = op.vendorExtensions.get(CACHE_EXTENSION);
+        op.vendorExtensions.put(CACHED_EXTENSION, false);
+        if (requested == null || Boolean.FALSE.equals(requested)) {
+            return false;
+        }
+
+        String subject = CACHE_EXTENSION + " of operation " + operationId(op);
+        if (!(requested instanceof Map<?, ?> settings)) {
+            throw new IllegalArgumentException("Invalid " + subject + ": '" + requested
+                    + "'. Expected an object with ttl and optional varyBy.");
+        }
+        if (!"get".equals(op.httpMethod.toLowerCase(Locale.ROOT))) {
+            throw new IllegalArgumentException("Invalid " + subject + ": only GET operations can be cached, not "
+                    + op.httpMethod.toUpperCase(Locale.ROOT) + ".");
+        }
+        if (op.vendorExtensions.get("successResponseModel") == null) {
+            throw new IllegalArgumentException("Invalid " + subject
+                    + ": only operations with a typed success response body can be cached.");
+        }
+        Object ttl = settings.get("ttl");
+        if (ttl == null) {
+            throw new IllegalArgumentException("Invalid " + subject + ": ttl is required.");
+        }
+
+        long ttlSeconds = positive(ttl, subject + " ttl");
+        List<CodegenParameter> keyParams = keyParams(op, settings.get("varyBy"), subject);
+        if (op.hasAuthMethods && keyParams.stream().noneMatch(param -> isIdentity(op, param))) {
+            throw new IllegalArgumentException("Invalid " + subject + ": the operation is secured, so varyBy must "
+                    + "name the Authorization header or the API key param of its security scheme; otherwise every "
+                    + "caller gets the response cached for the first one.");
+        }
+
+        op.vendorExtensions.put(CACHED_EXTENSION, true);
+        op.vendorExtensions.put(CACHE_TTL_EXTENSION, ttlSeconds);
+        op.vendorExtensions.put(CACHE_KEY_EXTENSION, keyMembers(keyParams));
+        return true;
+    }
+
+    /**
+     * Whether {@code param} names the caller: the {@code Authorization}
+     * header or the header or query param of an API key scheme of the
+     * operation.
+     */
+    private static boolean isIdentity(CodegenOperation op, CodegenParameter param) {
+        if (param.isHeaderParam && "Authorization".equalsIgnoreCase(param.baseName)) {
+            return true;
+        }
+        return op.authMethods != null && op.authMethods.stream()
+                .anyMatch(auth -> Boolean.TRUE.equals(auth.isApiKey)
+                        && ((Boolean.TRUE.equals(auth.isKeyInHeader) && param.isHeaderParam
+                                && param.baseName.equalsIgnoreCase(auth.keyParamName))
+                                || (Boolean.TRUE.equals(auth.isKeyInQuery) && param.isQueryParam
+                                        && param.baseName.equals(auth.keyParamName))));
+    }
+
+    private static List<CodegenParameter> keyParams(CodegenOperation op, Object varyBy, String subject) {
+        List<CodegenParameter> params;
+        if (varyBy == null) {
+            params = Stream.of(op.pathParams, op.queryParams)
+                    .filter(Objects::nonNull)
+                    .flatMap(List::stream)
+                    .toList();
+        } else if (varyBy instanceof List<?> names) {
+            params = new ArrayList<>();
+            for (Object name : names) {
+                CodegenParameter param = Stream.of(op.pathParams, op.queryParams, op.headerParams)
+                        .filter(Objects::nonNull)
+                        .flatMap(List::stream)
+                        .filter(candidate -> candidate.baseName.equals(String.valueOf(name))
+                                || candidate.paramName.equals(String.valueOf(name)))
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalArgumentException("Invalid " + subject + ": varyBy names '"
+                                + name + "', which is not a path, query or header param of the operation."));
+                if (!params.contains(param)) {
+                    params.add(param);
+                }
+            }
+        } else {
+            throw new IllegalArgumentException("Invalid " + subject + " varyBy: '" + varyBy
+                    + "'. Expected a list of param names.");
+        }
+
+        return params;
+    }
+
+    /**
+     * Members of a generated key record struct, one per param, as
+     * {@code name}, {@code type} and {@code joined} (array params, joined
+     * into one string).
+     */
+    static List<Map<String, Object>> keyMembers(List<CodegenParameter> params) {
+        List<Map<String, Object>> key = new ArrayList<>();
+        for (CodegenParameter param : params) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("name", param.paramName);
+            entry.put("joined", param.isArray);
+            entry.put("type", param.isArray ? "string?" : keyType(param));
+            key.add(entry);
+        }
+        return key;
+    }
+
+    /**
+     * The operationId as written in the spec, for error messages.
+     */
+    static String operationId(CodegenOperation op) {
+        return op.operationIdOriginal != null ? op.operationIdOriginal : op.operationId;
+    }
+
+    /**
+     * Type of a key member, nullable unless the param is required.
+     */
+    private static String keyType(CodegenParameter param) {
+        return param.required || param.dataType.endsWith("?") ? param.dataType : param.dataType + "?";
+    }
+
+    private static long positive(Object value, String source) {
+        long parsed;
+        try {
+            parsed = value instanceof Number number ? number.longValue() : Long.parseLong(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + source + ": '" + value + "'. Expected a positive number.",
+                    e);
+        }
+        if (parsed <= 0) {
+            throw new IllegalArgumentException("Invalid " + source + ": " + parsed + ". Expected a positive number.");
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,205 @@
+package dev.yaver.codegen;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Collect-all mode of the response contract validation.
+ *
+ * <p>Instead of failing on the first bad operation, every operation is
+ * validated and all violations are written to a single JSON or SARIF report
+ * (chosen by the {@code .sarif} extension), after which generation fails
+ * once.</p>
+ */
+final class ResponseContractReport {
+    static final String FAIL_FAST = "failFast";
+    static final String COLLECT_ALL = "collectAll";
+    static final String DEFAULT_REPORT_PATH = ".openapi-generator/response-contract-report.json";
+
+    static final String RESPONSE_CONTRACT_VALIDATION = "responseContractValidation";
+    static final String RESPONSE_CONTRACT_VALIDATION_DESC = "How response contract violations fail generation: "
+            + "'failFast' stops at the first violation, 'collectAll' validates every operation and writes "
+            + "a single report before failing.";
+    static final String RESPONSE_CONTRACT_REPORT = "responseContractReport";
+    static final String RESPONSE_CONTRACT_REPORT_DESC = "Report file of the collectAll response contract "
+            + "validation; a .sarif extension writes SARIF 2.1.0, anything else JSON. Default: "
+            + DEFAULT_REPORT_PATH + " inside the output directory.";
+
+    private static final String SARIF_SCHEMA = "https://json.schemastore.org/sarif-2.1.0.json";
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResponseContractReport.class);
+
+    private final String generatorName;
+    private final String inputSpec;
+    private final Path reportFile;
+    private Map<String, List<ResponseContractViolation>> violations = Map.of();
+
+    private ResponseContractReport(String generatorName, String inputSpec, Path reportFile) {
+        this.generatorName = generatorName;
+        this.inputSpec = inputSpec;
+        this.reportFile = reportFile;
+    }
+
+    /**
+     * Returns the collect-all report for this run, or {@code null} in the
+     * default fail-fast mode.
+     */
+    static ResponseContractReport fromOptions(String generatorName, String inputSpec, String outputDir,
+            Map<String, Object> additionalProperties) {
+        Object mode = additionalProperties.get(RESPONSE_CONTRACT_VALIDATION);
+        if (mode == null || FAIL_FAST.equals(mode.toString())) {
+            return null;
+        }
+        if (!COLLECT_ALL.equals(mode.toString())) {
+            throw new IllegalArgumentException("Invalid " + RESPONSE_CONTRACT_VALIDATION + ": '" + mode
+                    + "'. Supported values are '" + FAIL_FAST + "' and '" + COLLECT_ALL + "'.");
+        }
+
+        Object report = additionalProperties.get(RESPONSE_CONTRACT_REPORT);
+        Path reportFile = report == null || report.toString().isBlank()
+                ? Paths.get(outputDir).resolve(DEFAULT_REPORT_PATH)
+                : Paths.get(report.toString());
+        return to(generatorName, inputSpec, reportFile);
+    }
+
+    static ResponseContractReport to(String generatorName, String inputSpec, Path reportFile) {
+        return new ResponseContractReport(generatorName, inputSpec, reportFile.toAbsolutePath().normalize());
+    }
+
+    Path reportFile() {
+        return reportFile;
+    }
+
+    boolean isSarif() {
+        return reportFile.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".sarif");
+    }
+
+    /**
+     * Writes the report and, when there are violations, fails generation
+     * with a summary of them.
+     */
+    void complete(Map<String, List<ResponseContractViolation>> violationsByTag) {
+        this.violations = violationsByTag;
+        int count = violationsByTag.values().stream().mapToInt(List::size).sum();
+        write(violationsByTag);
+
+        if (count == 0) {
+            LOGGER.info("Response contract validation passed; report written to {}.", reportFile);
+            return;
+        }
+
+        violationsByTag.forEach((tag, violations) -> violations.forEach(violation ->
+                LOGGER.error("[{}] {}", violation.rule(), violation.getMessage())));
+        ResponseContractViolation first = violationsByTag.values().iterator().next().get(0);
+        throw new IllegalArgumentException("Response contract validation found " + count + " violation"
+                + (count == 1 ? "" : "s") + "; report written to " + reportFile + ". First: " + first.getMessage());
+    }
+
+    /**
+     * Violations of the completed validation, empty before it completed.
+     */
+    Map<String, List<ResponseContractViolation>> violations() {
+        return violations;
+    }
+
+    void write(Map<String, List<ResponseContractViolation>> violationsByTag) {
+        Object document = isSarif() ? sarif(violationsByTag) : json(violationsByTag);
+        try {
+            Files.createDirectories(reportFile.getParent());
+            new ObjectMapper()
+                    .enable(SerializationFeature.INDENT_OUTPUT)
+                    .writeValue(reportFile.toFile(), document);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write response contract report " + reportFile, e);
+        }
+    }
+
+    private Map<String, Object> json(Map<String, List<ResponseContractViolation>> violationsByTag) {
+        List<Map<String, Object>> entries = new ArrayList<>();
+        violationsByTag.forEach((tag, violations) -> {
+            for (ResponseContractViolation violation : violations) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("rule", violation.rule());
+                entry.put("tag", tag);
+                entry.put("operationId", violation.operationId());
+                entry.put("httpMethod", violation.httpMethod());
+                entry.put("path", violation.path());
+                entry.put("responseCode", violation.responseCode());
+                entry.put("message", violation.getMessage());
+                entries.add(entry);
+            }
+        });
+
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("generator", generatorName);
+        document.put("inputSpec", inputSpec);
+        document.put("violationCount", entries.size());
+        document.put("violations", entries);
+        return document;
+    }
+
+    private Map<String, Object> sarif(Map<String, List<ResponseContractViolation>> violationsByTag) {
+        List<Map<String, Object>> rules = new ArrayList<>();
+        for (ResponseContractRule rule : ResponseContractRule.values()) {
+            rules.add(Map.of(
+                    "id", rule.id(),
+                    "shortDescription", Map.of("text", rule.description())));
+        }
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        violationsByTag.forEach((tag, violations) -> {
+            for (ResponseContractViolation violation : violations) {
+                Map<String, Object> logicalLocation = new LinkedHashMap<>();
+                logicalLocation.put("name", violation.operationId());
+                logicalLocation.put("fullyQualifiedName", tag + "/" + violation.operationId());
+                logicalLocation.put("kind", "function");
+
+                Map<String, Object> location = new LinkedHashMap<>();
+                if (inputSpec != null) {
+                    location.put("physicalLocation", Map.of("artifactLocation", Map.of("uri", inputSpec)));
+                }
+                location.put("logicalLocations", List.of(logicalLocation));
+
+                Map<String, Object> properties = new LinkedHashMap<>();
+                properties.put("tag", tag);
+                properties.put("httpMethod", violation.httpMethod());
+                properties.put("path", violation.path());
+                properties.put("responseCode", violation.responseCode());
+
+                Map<String, Object> result = new LinkedHashMap<>();
+                result.put("ruleId", violation.rule());
+                result.put("level", "error");
+                result.put("message", Map.of("text", violation.getMessage()));
+                result.put("locations", List.of(location));
+                result.put("properties", properties);
+                results.add(result);
+            }
+        });
+
+        Map<String, Object> driver = new LinkedHashMap<>();
+        driver.put("name", generatorName);
+        driver.put("rules", rules);
+
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("tool", Map.of("driver", driver));
+        run.put("results", results);
+
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("$schema", SARIF_SCHEMA);
+        document.put("version", "2.1.0");
+        document.put("runs", List.of(run));
+        return document;
+    }
+}
@@ -0,0 +1,40 @@
+package dev.yaver.codegen;
+
+/**
+ * Rules of the Yaver response contract, as reported by
+ * {@link ResponseContractReport}.
+ */
+enum ResponseContractRule {
+    SINGLE_SUCCESS_RESPONSE("single-success-response",
+            "Operations declare exactly one 2xx response."),
+    NUMERIC_SUCCESS_CODE("numeric-success-code",
+            "The success response uses a concrete numeric 2xx code."),
+    BODYLESS_SUCCESS("bodyless-success",
+            "204 and 205 responses declare no body."),
+    SINGLE_SUCCESS_REPRESENTATION("single-success-representation",
+            "The success response declares at most one media type with exactly one schema."),
+    NO_SUCCESS_ALTERNATIVES("no-success-alternatives",
+            "The success schema does not use oneOf or anyOf."),
+    RESOLVABLE_SUCCESS_TYPE("resolvable-success-type",
+            "A success response body resolves to a schema type."),
+    PROBLEM_DETAILS_ERROR_RESPONSE("problem-details-error-response",
+            "4xx, 5xx and default responses use application/problem+json with the ProblemDetails schema."),
+    CANONICAL_PROBLEM_DETAILS("canonical-problem-details",
+            "The ProblemDetails and ProblemDetailsError schemas match the canonical shape.");
+
+    private final String id;
+    private final String description;
+
+    ResponseContractRule(String id, String description) {
+        this.id = id;
+        this.description = description;
+    }
+
+    String id() {
+        return id;
+    }
+
+    String description() {
+        return description;
+    }
+}
@@ -1,8 +1,11 @@
 package dev.yaver.codegen;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -20,6 +23,10 @@ import org.openapitools.codegen.model.ModelMap;
  * failures through FastEndpoints problem details. Domain-specific error DTOs
  * and multiple successful response alternatives belong in the OpenAPI design,
  * not in transport-specific generated envelopes.</p>
+ *
+ * <p>One validator is built per generation run from the full model list. It
+ * indexes the models by name and checks the canonical ProblemDetails schemas
+ * once, so validating an operation only walks its own responses.</p>
  */
 final class ResponseContractValidator {
     static final String PROBLEM_DETAILS_MEDIA_TYPE = "application/problem+json";
@@ -29,10 +36,108 @@ final class ResponseContractValidator {
     private static final List<String> REQUIRED_PROBLEM_DETAILS_PROPERTIES = List.of(
             "type", "title", "status", "instance", "traceId", "errors");
 
-    private ResponseContractValidator() {
+    private static final ProblemDetailsVerdict CANONICAL_PROBLEM_DETAILS = new ProblemDetailsVerdict(true, null);
+    private static final Consumer<ResponseContractViolation> FAIL_FAST = violation -> {
+        throw violation;
+    };
+
+    private final List<ModelMap> allModels;
+    private final Map<String, CodegenModel> modelsByName;
+    private volatile ProblemDetailsVerdict problemDetailsVerdict;
+
+    private ResponseContractValidator(List<ModelMap> allModels) {
+        this.allModels = allModels;
+        this.modelsByName = new HashMap<>(allModels.size() * 2);
+        for (ModelMap modelMap : allModels) {
+            CodegenModel model = modelMap.getModel();
+            // First match wins for both the class name and the schema name.
+            if (model.classname != null) {
+                modelsByName.putIfAbsent(model.classname, model);
+            }
+            if (model.name != null) {
+                modelsByName.putIfAbsent(model.name, model);
+            }
+        }
+    }
+
+    static ResponseContractValidator forModels(List<ModelMap> allModels) {
+        return new ResponseContractValidator(allModels);
+    }
+
+    /**
+     * Whether this validator was built for {@code allModels}. The generator
+     * hands the same list to every operation hook of a run.
+     */
+    boolean isFor(List<ModelMap> allModels) {
+        return this.allModels == allModels;
+    }
+
+    CodegenResponse requireSingleSuccessResponse(CodegenOperation operation) {
+        return checkSingleSuccessResponse(operation, FAIL_FAST);
+    }
+
+    void requireProblemDetailsErrors(CodegenOperation operation) {
+        checkProblemDetailsErrors(operation, FAIL_FAST);
     }
 
-    static CodegenResponse requireSingleSuccessResponse(CodegenOperation operation, List<ModelMap> allModels) {
+    /**
+     * Fails when a success response declares a body whose schema type cannot
+     * be resolved.
+     */
+    void requireResolvableSuccessType(CodegenOperation operation, CodegenResponse successResponse) {
+        checkResolvableSuccessType(operation, successResponse, FAIL_FAST);
+    }
+
+    /**
+     * Validates every operation, in parallel across tags, and returns the
+     * violations per tag in tag order. Operations within a tag keep their
+     * order. A broken canonical ProblemDetails schema is reported once, for
+     * the first operation that depends on it.
+     */
+    Map<String, List<ResponseContractViolation>> validateAll(Map<String, List<CodegenOperation>> operationsByTag) {
+        List<Map.Entry<String, List<ResponseContractViolation>>> perTag = operationsByTag.entrySet()
+                .parallelStream()
+                .map(entry -> Map.entry(entry.getKey(), validateTag(entry.getValue())))
+                .toList();
+
+        Map<String, List<ResponseContractViolation>> violations = new LinkedHashMap<>();
+        boolean canonicalReported = false;
+        for (Map.Entry<String, List<ResponseContractViolation>> entry : perTag) {
+            List<ResponseContractViolation> tagViolations = new ArrayList<>();
+            for (ResponseContractViolation violation : entry.getValue()) {
+                if (ResponseContractRule.CANONICAL_PROBLEM_DETAILS.id().equals(violation.rule())) {
+                    if (canonicalReported) {
+                        continue;
+                    }
+                    canonicalReported = true;
+                }
+                tagViolations.add(violation);
+            }
+            if (!tagViolations.isEmpty()) {
+                violations.put(entry.getKey(), tagViolations);
+            }
+        }
+        return violations;
+    }
+
+    private List<ResponseContractViolation> validateTag(List<CodegenOperation> operations) {
+        List<ResponseContractViolation> violations = new ArrayList<>();
+        for (CodegenOperation operation : operations) {
+            CodegenResponse successResponse = checkSingleSuccessResponse(operation, violations::add);
+            checkProblemDetailsErrors(operation, violations::add);
+            if (successResponse != null) {
+                checkResolvableSuccessType(operation, successResponse, violations::add);
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * @return the success response, or {@code null} when a violation was
+     *         reported to {@code sink}
+     */
+    private CodegenResponse checkSingleSuccessResponse(
+            CodegenOperation operation, Consumer<ResponseContractViolation> sink) {
         List<CodegenResponse> successResponses = operation.responses.stream()
                 .filter(ResponseContractValidator::isSuccessResponse)
                 .collect(Collectors.toList());
@@ -41,26 +146,28 @@ final class ResponseContractValidator {
             String declaredResponses = operation.responses.stream()
                     .map(ResponseContractValidator::describeResponse)
                     .collect(Collectors.joining(", "));
-            throw new IllegalArgumentException(
+            sink.accept(new ResponseContractViolation(ResponseContractRule.SINGLE_SUCCESS_RESPONSE, operation, null,
                     "Operation '" + operation.operationId
                             + "' must declare exactly one concrete 2xx response; found "
                             + successResponses.size() + ". Declared responses: ["
-                            + declaredResponses + "]");
+                            + declaredResponses + "]"));
+            return null;
         }
 
         CodegenResponse response = successResponses.get(0);
         if (response.code == null || !EXACT_SUCCESS_CODE.matcher(response.code).matches()) {
-            throw new IllegalArgumentException(
+            sink.accept(new ResponseContractViolation(ResponseContractRule.NUMERIC_SUCCESS_CODE, operation,
+                    response.code,
                     "Operation '" + operation.operationId
                             + "' must declare a concrete numeric 2xx response code; found '"
-                            + response.code + "'.");
+                            + response.code + "'."));
+            return null;
         }
 
-        requireSingleSuccessRepresentation(operation, response, allModels);
-        return response;
+        return checkSingleSuccessRepresentation(operation, response, sink) ? response : null;
     }
 
-    static void requireProblemDetailsErrors(CodegenOperation operation, List<ModelMap> allModels) {
+    private void checkProblemDetailsErrors(CodegenOperation operation, Consumer<ResponseContractViolation> sink) {
         boolean hasProblemDetailsError = false;
 
         for (CodegenResponse response : operation.responses) {
@@ -79,17 +186,29 @@ final class ResponseContractValidator {
             if (mediaTypes.size() != 1
                     || !PROBLEM_DETAILS_MEDIA_TYPE.equalsIgnoreCase(mediaTypes.get(0))
                     || !PROBLEM_DETAILS_MODEL.equals(responseModel)) {
-                throw new IllegalArgumentException(
+                sink.accept(new ResponseContractViolation(ResponseContractRule.PROBLEM_DETAILS_ERROR_RESPONSE,
+                        operation, response.code,
                         "Operation '" + operation.operationId + "' response '" + response.code
                                 + "' must use " + PROBLEM_DETAILS_MEDIA_TYPE
                                 + " with the canonical " + PROBLEM_DETAILS_MODEL
                                 + " schema; found media types " + mediaTypes
-                                + " and model '" + responseModel + "'.");
+                                + " and model '" + responseModel + "'."));
             }
         }
 
         if (hasProblemDetailsError) {
-            requireCanonicalProblemDetailsModels(operation, allModels);
+            checkCanonicalProblemDetailsModels(operation, sink);
+        }
+    }
+
+    private void checkResolvableSuccessType(CodegenOperation operation, CodegenResponse response,
+            Consumer<ResponseContractViolation> sink) {
+        String responseModel = getResponseDataType(response);
+        if ((responseModel == null || responseModel.isEmpty()) && hasResponseBody(response)) {
+            sink.accept(new ResponseContractViolation(ResponseContractRule.RESOLVABLE_SUCCESS_TYPE, operation,
+                    response.code,
+                    "Operation '" + operation.operationId
+                            + "' declares a success response body without a resolvable schema type."));
         }
     }
 
@@ -129,41 +248,53 @@ final class ResponseContractValidator {
                 || getResponseDataType(response) != null;
     }
 
-    private static void requireSingleSuccessRepresentation(
-            CodegenOperation operation, CodegenResponse response, List<ModelMap> allModels) {
+    /**
+     * @return {@code false} when a violation was reported to {@code sink}
+     */
+    private boolean checkSingleSuccessRepresentation(CodegenOperation operation, CodegenResponse response,
+            Consumer<ResponseContractViolation> sink) {
         Map<String, CodegenMediaType> content = response.getContent();
         List<String> mediaTypes = content == null ? List.of() : new ArrayList<>(content.keySet());
 
         if (isBodylessSuccess(response)) {
             if (hasResponseBody(response)) {
-                throw new IllegalArgumentException(
+                sink.accept(new ResponseContractViolation(ResponseContractRule.BODYLESS_SUCCESS, operation,
+                        response.code,
                         "Operation '" + operation.operationId + "' response '" + response.code
-                                + "' must not declare a response body.");
+                                + "' must not declare a response body."));
+                return false;
             }
-            return;
+            return true;
         }
 
         if (mediaTypes.size() > 1) {
-            throw new IllegalArgumentException(
+            sink.accept(new ResponseContractViolation(ResponseContractRule.SINGLE_SUCCESS_REPRESENTATION, operation,
+                    response.code,
                     "Operation '" + operation.operationId + "' response '" + response.code
                             + "' must declare at most one success representation; found media types "
-                            + mediaTypes + ".");
+                            + mediaTypes + "."));
+            return false;
         }
 
         if (mediaTypes.size() == 1) {
             CodegenProperty schema = content.get(mediaTypes.get(0)).getSchema();
             if (schema == null) {
-                throw new IllegalArgumentException(
+                sink.accept(new ResponseContractViolation(ResponseContractRule.SINGLE_SUCCESS_REPRESENTATION,
+                        operation, response.code,
                         "Operation '" + operation.operationId + "' response '" + response.code
-                                + "' must declare exactly one schema for its success representation.");
+                                + "' must declare exactly one schema for its success representation."));
+                return false;
             }
-            CodegenModel responseModel = findModel(allModels, getResponseDataType(response));
+            CodegenModel responseModel = findModel(getResponseDataType(response));
             if (hasAlternativeSchemas(schema) || hasAlternativeSchemas(responseModel)) {
-                throw new IllegalArgumentException(
+                sink.accept(new ResponseContractViolation(ResponseContractRule.NO_SUCCESS_ALTERNATIVES, operation,
+                        response.code,
                         "Operation '" + operation.operationId + "' response '" + response.code
-                                + "' must not use oneOf or anyOf success alternatives.");
+                                + "' must not use oneOf or anyOf success alternatives."));
+                return false;
             }
         }
+        return true;
     }
 
     private static boolean hasAlternativeSchemas(CodegenProperty schema) {
@@ -191,48 +322,68 @@ final class ResponseContractValidator {
                         && !model.getComposedSchemas().getAnyOf().isEmpty())));
     }
 
-    private static void requireCanonicalProblemDetailsModels(CodegenOperation operation, List<ModelMap> allModels) {
-        CodegenModel problemDetails = findModel(allModels, PROBLEM_DETAILS_MODEL);
-        CodegenModel problemDetailsError = findModel(allModels, "ProblemDetailsError");
+    private void checkCanonicalProblemDetailsModels(CodegenOperation operation,
+            Consumer<ResponseContractViolation> sink) {
+        ProblemDetailsVerdict verdict = problemDetailsVerdict;
+        if (verdict == null) {
+            // The verdict only depends on the model list; computing it twice on a race is harmless.
+            verdict = checkCanonicalProblemDetailsModels();
+            problemDetailsVerdict = verdict;
+        }
 
-        if (problemDetails == null || problemDetailsError == null) {
-            throw new IllegalArgumentException(
+        if (!verdict.defined()) {
+            sink.accept(new ResponseContractViolation(ResponseContractRule.CANONICAL_PROBLEM_DETAILS, operation, null,
+                    "Operation '" + operation.operationId
+                            + "' must define the canonical ProblemDetails and ProblemDetailsError schemas."));
+        } else if (verdict.reason() != null) {
+            sink.accept(new ResponseContractViolation(ResponseContractRule.CANONICAL_PROBLEM_DETAILS, operation, null,
                     "Operation '" + operation.operationId
-                            + "' must define the canonical ProblemDetails and ProblemDetailsError schemas.");
+                            + "' must use the canonical ProblemDetails schema: " + verdict.reason() + "."));
+        }
+    }
+
+    private ProblemDetailsVerdict checkCanonicalProblemDetailsModels() {
+        CodegenModel problemDetails = findModel(PROBLEM_DETAILS_MODEL);
+        CodegenModel problemDetailsError = findModel("ProblemDetailsError");
+
+        if (problemDetails == null || problemDetailsError == null) {
+            return new ProblemDetailsVerdict(false, null);
         }
 
         for (String propertyName : REQUIRED_PROBLEM_DETAILS_PROPERTIES) {
             CodegenProperty property = findProperty(problemDetails, propertyName);
             if (property == null || !property.required) {
-                throw invalidProblemDetailsSchema(operation, propertyName + " must be required");
+                return invalid(propertyName + " must be required");
             }
         }
 
-        requireStringProperty(operation, problemDetails, "type");
-        requireStringProperty(operation, problemDetails, "title");
-        requireIntegerProperty(operation, problemDetails, "status");
-        requireStringProperty(operation, problemDetails, "instance");
-        requireStringProperty(operation, problemDetails, "traceId");
+        String reason = firstNonBlank(
+                stringPropertyViolation(problemDetails, "type"),
+                stringPropertyViolation(problemDetails, "title"),
+                integerPropertyViolation(problemDetails, "status"),
+                stringPropertyViolation(problemDetails, "instance"),
+                stringPropertyViolation(problemDetails, "traceId"));
+        if (reason != null) {
+            return invalid(reason);
+        }
 
         CodegenProperty errors = findProperty(problemDetails, "errors");
         if (errors == null || !errors.isArray || errors.items == null
                 || !"ProblemDetailsError".equals(firstNonBlank(
                         errors.items.complexType, errors.items.baseType, errors.items.dataType))) {
-            throw invalidProblemDetailsSchema(operation, "errors must be an array of ProblemDetailsError");
+            return invalid("errors must be an array of ProblemDetailsError");
         }
 
-        requireRequiredStringProperty(operation, problemDetailsError, "name");
-        requireRequiredStringProperty(operation, problemDetailsError, "reason");
-        requireOptionalStringProperty(operation, problemDetailsError, "code");
-        requireOptionalStringProperty(operation, problemDetailsError, "severity");
+        reason = firstNonBlank(
+                requiredStringPropertyViolation(problemDetailsError, "name"),
+                requiredStringPropertyViolation(problemDetailsError, "reason"),
+                optionalStringPropertyViolation(problemDetailsError, "code"),
+                optionalStringPropertyViolation(problemDetailsError, "severity"));
+        return reason == null ? CANONICAL_PROBLEM_DETAILS : invalid(reason);
     }
 
-    private static CodegenModel findModel(List<ModelMap> allModels, String modelName) {
-        return allModels.stream()
-                .map(ModelMap::getModel)
-                .filter(model -> modelName.equals(model.classname) || modelName.equals(model.name))
-                .findFirst()
-                .orElse(null);
+    private CodegenModel findModel(String modelName) {
+        return modelName == null ? null : modelsByName.get(modelName);
     }
 
     private static CodegenProperty findProperty(CodegenModel model, String propertyName) {
@@ -246,43 +397,32 @@ final class ResponseContractValidator {
                 .orElse(null);
     }
 
-    private static void requireRequiredStringProperty(
-            CodegenOperation operation, CodegenModel model, String propertyName) {
+    private static String requiredStringPropertyViolation(CodegenModel model, String propertyName) {
         CodegenProperty property = findProperty(model, propertyName);
-        if (property == null || !property.required || !property.isString) {
-            throw invalidProblemDetailsSchema(operation, propertyName + " must be a required string");
-        }
+        return property == null || !property.required || !property.isString
+                ? propertyName + " must be a required string"
+                : null;
     }
 
-    private static void requireOptionalStringProperty(
-            CodegenOperation operation, CodegenModel model, String propertyName) {
+    private static String optionalStringPropertyViolation(CodegenModel model, String propertyName) {
         CodegenProperty property = findProperty(model, propertyName);
-        if (property == null || property.required || !property.isString) {
-            throw invalidProblemDetailsSchema(operation, propertyName + " must be an optional string");
-        }
+        return property == null || property.required || !property.isString
+                ? propertyName + " must be an optional string"
+                : null;
     }
 
-    private static void requireStringProperty(
-            CodegenOperation operation, CodegenModel model, String propertyName) {
+    private static String stringPropertyViolation(CodegenModel model, String propertyName) {
         CodegenProperty property = findProperty(model, propertyName);
-        if (property == null || !property.isString) {
-            throw invalidProblemDetailsSchema(operation, propertyName + " must be a string");
-        }
+        return property == null || !property.isString ? propertyName + " must be a string" : null;
     }
 
-    private static void requireIntegerProperty(
-            CodegenOperation operation, CodegenModel model, String propertyName) {
+    private static String integerPropertyViolation(CodegenModel model, String propertyName) {
         CodegenProperty property = findProperty(model, propertyName);
-        if (property == null || !property.isInteger) {
-            throw invalidProblemDetailsSchema(operation, propertyName + " must be an integer");
-        }
+        return property == null || !property.isInteger ? propertyName + " must be an integer" : null;
     }
 
-    private static IllegalArgumentException invalidProblemDetailsSchema(
-            CodegenOperation operation, String reason) {
-        return new IllegalArgumentException(
-                "Operation '" + operation.operationId
-                        + "' must use the canonical ProblemDetails schema: " + reason + ".");
+    private static ProblemDetailsVerdict invalid(String reason) {
+        return new ProblemDetailsVerdict(true, reason);
     }
 
     private static String firstNonBlank(String... values) {
@@ -298,4 +438,11 @@ final class ResponseContractValidator {
         String model = getResponseDataType(response);
         return response.code + (model == null ? "" : " " + model);
     }
+
+    /**
+     * Outcome of the canonical ProblemDetails check: whether both schemas are
+     * defined and, if they are, the first violation or {@code null}.
+     */
+    private record ProblemDetailsVerdict(boolean defined, String reason) {
+    }
 }
@@ -0,0 +1,54 @@
+package dev.yaver.codegen;
+
+import java.util.Locale;
+
+import org.openapitools.codegen.CodegenOperation;
+
+/**
+ * A single response contract violation of one operation.
+ *
+ * <p>It stays an {@link IllegalArgumentException} so the fail-fast mode keeps
+ * failing generation exactly as before; the collect-all mode gathers the
+ * violations and reports them together with their rule id.</p>
+ */
+final class ResponseContractViolation extends IllegalArgumentException {
+    private static final long serialVersionUID = 1L;
+
+    private final String rule;
+    private final String operationId;
+    private final String httpMethod;
+    private final String path;
+    private final String responseCode;
+
+    ResponseContractViolation(ResponseContractRule rule, CodegenOperation operation, String responseCode,
+            String message) {
+        super(message);
+        this.rule = rule.id();
+        this.operationId = operation.operationIdOriginal == null ? operation.operationId
+                : operation.operationIdOriginal;
+        this.httpMethod = operation.httpMethod == null ? null : operation.httpMethod.toUpperCase(Locale.ROOT);
+        this.path = operation.path;
+        this.responseCode = responseCode;
+    }
+
+    String rule() {
+        return rule;
+    }
+
+    /** The operationId as written in the spec. */
+    String operationId() {
+        return operationId;
+    }
+
+    String httpMethod() {
+        return httpMethod;
+    }
+
+    String path() {
+        return path;
+    }
+
+    String responseCode() {
+        return responseCode;
+    }
+}
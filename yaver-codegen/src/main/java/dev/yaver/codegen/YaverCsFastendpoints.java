@@ -25,10 +25,12 @@ import io.swagger.v3.oas.models.servers.Server;
 
 import org.apache.commons.lang3.StringUtils;
 import org.openapitools.codegen.*;
+import org.openapitools.codegen.api.TemplatingEngineAdapter;
 import org.openapitools.codegen.languages.AbstractCSharpCodegen;
 import org.openapitools.codegen.meta.features.*;
 import org.openapitools.codegen.model.ModelMap;
 import org.openapitools.codegen.model.ModelsMap;
+import org.openapitools.codegen.model.OperationsMap;
 import org.openapitools.codegen.utils.ModelUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -105,6 +107,9 @@ public class YaverCsFastendpoints extends AbstractCSharpCodegen {
 
     protected boolean needsCustomHttpMethod = false;
     protected boolean needsUriBuilder = false;
+    protected boolean skipUnchangedFiles = true;
+    private final PropertyReconciliation propertyReconciliation = new PropertyReconciliation();
+    private final ParentModelCache parentModels = new ParentModelCache();
 
     public YaverCsFastendpoints() {
         super();
@@ -300,16 +305,26 @@ public class YaverCsFastendpoints extends AbstractCSharpCodegen {
         addSwitch("useSourceGeneration",
                 "Use source generation where available (only `generichost` library supports this option).",
                 this.getUseSourceGeneration());
+
+        addSwitch(GeneratedOutput.SKIP_UNCHANGED_FILES,
+                GeneratedOutput.SKIP_UNCHANGED_FILES_DESC,
+                this.skipUnchangedFiles);
+
+        addOption(GenerationProfile.YAVER_PROFILE,
+                GenerationProfile.YAVER_PROFILE_DESC,
+                null);
     }
 
     @Override
     public CodegenModel fromModel(String name, Schema model) {
+        GenerationProfile.Span span = profile().start(GenerationProfile.FROM_MODEL, name);
         Map<String, Schema> allDefinitions = ModelUtils.getSchemas(this.openAPI);
         CodegenModel codegenModel = super.fromModel(name, model);
         if (allDefinitions != null && codegenModel != null && codegenModel.parent != null) {
             final Schema parentModel = allDefinitions.get(toModelName(codegenModel.parent));
             if (parentModel != null) {
-                final CodegenModel parentCodegenModel = super.fromModel(codegenModel.parent, parentModel);
+                final CodegenModel parentCodegenModel = parentModels.get(codegenModel.parent, parentModel,
+                        super::fromModel);
                 if (codegenModel.hasEnums) {
                     codegenModel = this.reconcileInlineEnums(codegenModel, parentCodegenModel);
                 }
@@ -342,71 +357,22 @@ public class YaverCsFastendpoints extends AbstractCSharpCodegen {
 
         // Cleanup possible duplicates. Currently, readWriteVars can contain the same
         // property twice. May or may not be isolated to C#.
-        if (codegenModel != null && codegenModel.readWriteVars != null && codegenModel.readWriteVars.size() > 1) {
-            int length = codegenModel.readWriteVars.size() - 1;
-            for (int i = length; i > (length / 2); i--) {
-                final CodegenProperty codegenProperty = codegenModel.readWriteVars.get(i);
-                // If the property at current index is found earlier in the list, remove this
-                // last instance.
-                if (codegenModel.readWriteVars.indexOf(codegenProperty) < i) {
-                    codegenModel.readWriteVars.remove(i);
-                }
-            }
+        if (codegenModel != null) {
+            PropertyReconciliation.removeLaterDuplicates(codegenModel.readWriteVars);
         }
 
-        Collections.sort(codegenModel.vars, propertyComparatorByName);
-        Collections.sort(codegenModel.allVars, propertyComparatorByName);
-        Collections.sort(codegenModel.requiredVars, propertyComparatorByName);
-        Collections.sort(codegenModel.optionalVars, propertyComparatorByName);
-        Collections.sort(codegenModel.readOnlyVars, propertyComparatorByName);
-        Collections.sort(codegenModel.readWriteVars, propertyComparatorByName);
-        Collections.sort(codegenModel.parentVars, propertyComparatorByName);
-
-        Comparator<CodegenProperty> comparator = propertyComparatorByNullable
-                .thenComparing(propertyComparatorByDefaultValue);
-        Collections.sort(codegenModel.vars, comparator);
-        Collections.sort(codegenModel.allVars, comparator);
-        Collections.sort(codegenModel.requiredVars, comparator);
-        Collections.sort(codegenModel.optionalVars, comparator);
-        Collections.sort(codegenModel.readOnlyVars, comparator);
-        Collections.sort(codegenModel.readWriteVars, comparator);
-        Collections.sort(codegenModel.parentVars, comparator);
+        PropertyOrder.sort(codegenModel.vars);
+        PropertyOrder.sort(codegenModel.allVars);
+        PropertyOrder.sort(codegenModel.requiredVars);
+        PropertyOrder.sort(codegenModel.optionalVars);
+        PropertyOrder.sort(codegenModel.readOnlyVars);
+        PropertyOrder.sort(codegenModel.readWriteVars);
+        PropertyOrder.sort(codegenModel.parentVars);
         // }
 
-        return codegenModel;
+        return span.end(codegenModel);
     }
 
-    public static Comparator<CodegenProperty> propertyComparatorByName = new Comparator<CodegenProperty>() {
-        @Override
-        public int compare(CodegenProperty one, CodegenProperty another) {
-            return one.name.compareTo(another.name);
-        }
-    };
-
-    public static Comparator<CodegenProperty> propertyComparatorByDefaultValue = new Comparator<CodegenProperty>() {
-        @Override
-        public int compare(CodegenProperty one, CodegenProperty another) {
-            if ((one.defaultValue == null) == (another.defaultValue == null))
-                return 0;
-            else if (one.defaultValue == null)
-                return -1;
-            else
-                return 1;
-        }
-    };
-
-    public static Comparator<CodegenProperty> propertyComparatorByNullable = new Comparator<CodegenProperty>() {
-        @Override
-        public int compare(CodegenProperty one, CodegenProperty another) {
-            if (one.isNullable == another.isNullable)
-                return 0;
-            else if (Boolean.FALSE.equals(one.isNullable))
-                return -1;
-            else
-                return 1;
-        }
-    };
-
     public static Comparator<CodegenParameter> parameterComparatorByDataType = new Comparator<CodegenParameter>() {
         @Override
         public int compare(CodegenParameter one, CodegenParameter another) {
@@ -619,6 +585,8 @@ public class YaverCsFastendpoints extends AbstractCSharpCodegen {
                 this.supportsFileParameters);
         syncBooleanProperty(additionalProperties, "useSourceGeneration", this::setUseSourceGeneration,
                 this.useSourceGeneration);
+        syncBooleanProperty(additionalProperties, GeneratedOutput.SKIP_UNCHANGED_FILES,
+                value -> this.skipUnchangedFiles = value, this.skipUnchangedFiles);
 
         String packageFolder = sourceFolder + File.separator + packageName;
 
@@ -644,6 +612,36 @@ public class YaverCsFastendpoints extends AbstractCSharpCodegen {
         this.setTypeMapping();
     }
 
+    /**
+     * The template engine is requested before {@link #processOpts()} runs, so
+     * the skip-unchanged switch is read straight from the additional properties.
+     */
+    @Override
+    public TemplatingEngineAdapter getTemplatingEngine() {
+        TemplatingEngineAdapter engine = super.getTemplatingEngine();
+        TemplatingEngineAdapter wrapped = YaverTemplatingEngine.wrap(this, engine, false);
+        if (wrapped != engine) {
+            setTemplatingEngine(wrapped);
+        }
+        return wrapped;
+    }
+
+    private GenerationProfile profile() {
+        return YaverTemplatingEngine.profile(super.getTemplatingEngine());
+    }
+
+    @Override
+    public boolean isEnableMinimalUpdate() {
+        // Unchanged files are handed back as they are; minimal update keeps them (and their mtime).
+        return super.isEnableMinimalUpdate() || GeneratedOutput.isSkipUnchangedRequested(additionalProperties);
+    }
+
+    @Override
+    public void postProcess() {
+        YaverTemplatingEngine.finish(super.getTemplatingEngine());
+        super.postProcess();
+    }
+
     @Override
     public void setUseSourceGeneration(final Boolean useSourceGeneration) {
         if (useSourceGeneration && !this.additionalProperties.containsKey(NET_80_OR_LATER)) {
@@ -661,6 +659,8 @@ public class YaverCsFastendpoints extends AbstractCSharpCodegen {
             String httpMethod,
             Operation operation,
             List<Server> servers) {
+        GenerationProfile.Span span = profile().start(GenerationProfile.FROM_OPERATION,
+                operation.getOperationId() != null ? operation.getOperationId() : path);
         CodegenOperation op = super.fromOperation(path, httpMethod, operation, servers);
 
         Collections.sort(op.allParams, parameterComparatorByDataType);
@@ -689,7 +689,7 @@ public class YaverCsFastendpoints extends AbstractCSharpCodegen {
         Collections.sort(op.optionalParams, comparator);
         Collections.sort(op.notNullableParams, comparator);
 
-        return op;
+        return span.end(op);
     }
 
     public void setNetStandard(Boolean netStandard) {
@@ -1083,7 +1083,7 @@ public class YaverCsFastendpoints extends AbstractCSharpCodegen {
         // }
         // } else {
         if (model.parentModel != null
-                && model.parentModel.allVars.stream().anyMatch(v -> v.baseName.equals(property.baseName))) {
+                && propertyReconciliation.containsBaseName(model.parentModel.allVars, property.baseName)) {
             property.isInherited = true;
         }
         // }
@@ -1100,6 +1100,8 @@ public class YaverCsFastendpoints extends AbstractCSharpCodegen {
 
     @Override
     public ModelsMap postProcessModels(ModelsMap objs) {
+        GenerationProfile.Span span = profile().start(GenerationProfile.POST_PROCESS_MODELS,
+                GenerationProfile.subject(objs));
         objs = super.postProcessModels(objs);
 
         // add implements for serializable/parcelable to all models
@@ -1128,22 +1130,31 @@ public class YaverCsFastendpoints extends AbstractCSharpCodegen {
                 cm.getComposedSchemas().getAnyOf().removeIf(o -> o.dataType.equals("Null"));
             }
 
-            for (CodegenProperty cp : cm.readWriteVars) {
-                // ISSUE: https://github.com/OpenAPITools/openapi-generator/issues/11844
-                // allVars may not have all properties
-                // see modules\openapi-generator\src\test\resources\3_0\allOf.yaml
-                // property boosterSeat will be in readWriteVars but not allVars
-                // the property is present in the model but gets removed at
-                // CodegenModel#removeDuplicatedProperty
-                if (Boolean.FALSE.equals(cm.allVars.stream().anyMatch(v -> v.baseName.equals(cp.baseName)))) {
-                    LOGGER.debug("Property " + cp.baseName
-                            + " was found in readWriteVars but not in allVars. Adding it back to allVars");
-                    cm.allVars.add(cp);
-                }
-            }
+            // ISSUE: https://github.com/OpenAPITools/openapi-generator/issues/11844
+            // allVars may not have all properties
+            // see modules\openapi-generator\src\test\resources\3_0\allOf.yaml
+            // property boosterSeat will be in readWriteVars but not allVars
+            // the property is present in the model but gets removed at
+            // CodegenModel#removeDuplicatedProperty
+            propertyReconciliation.addMissingByBaseName(cm.allVars, cm.readWriteVars,
+                    cp -> LOGGER.debug("Property " + cp.baseName
+                            + " was found in readWriteVars but not in allVars. Adding it back to allVars"));
         }
 
-        return objs;
+        return span.end(objs);
+    }
+
+    @Override
+    public Map<String, ModelsMap> postProcessAllModels(Map<String, ModelsMap> objs) {
+        GenerationProfile.Span span = profile().start(GenerationProfile.POST_PROCESS_ALL_MODELS, null);
+        return span.end(super.postProcessAllModels(objs));
+    }
+
+    @Override
+    public OperationsMap postProcessOperationsWithModels(OperationsMap objs, List<ModelMap> allModels) {
+        GenerationProfile.Span span = profile().start(GenerationProfile.POST_PROCESS_OPERATIONS,
+                GenerationProfile.subject(objs));
+        return span.end(super.postProcessOperationsWithModels(objs, allModels));
     }
 
     // https://github.com/OpenAPITools/openapi-generator/issues/15867
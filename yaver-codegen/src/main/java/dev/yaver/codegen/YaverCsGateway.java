@@ -37,6 +37,8 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -49,6 +51,7 @@ import org.openapitools.codegen.CodegenProperty;
 import org.openapitools.codegen.CodegenResponse;
 import org.openapitools.codegen.CodegenType;
 import org.openapitools.codegen.SupportingFile;
+import org.openapitools.codegen.api.TemplatingEngineAdapter;
 import org.openapitools.codegen.languages.AbstractCSharpCodegen;
 import org.openapitools.codegen.meta.features.ClientModificationFeature;
 import org.openapitools.codegen.meta.features.DocumentationFeature;
@@ -98,7 +101,6 @@ public class YaverCsGateway extends AbstractCSharpCodegen {
     private static final String HAS_ITEM_VALIDATOR_EXTENSION = "x-yaver-has-item-validator";
     private static final String ITEM_VALIDATOR_PARAM_EXTENSION = "x-yaver-item-validator-param";
     private static final String STRING_TYPE_EXTENSION = "x-yaver-string-type";
-    private static final String MESSAGEPACK_COLLECTION_TYPES = "x-yaver-messagepack-collection-types";
 
     protected String apiName = "ZApi";
 
@@ -128,6 +130,14 @@ public class YaverCsGateway extends AbstractCSharpCodegen {
     protected static final String FLUENT_VALIDATION_VERSION = "fluentValidationVersion";
     protected static final String MESSAGEPACK_VERSION = "messagePackVersion";
     protected static final String SCHEMAS_PACKAGE_NAME = "schemasPackageName";
+    protected static final String INCREMENTAL_GENERATION = "incrementalGeneration";
+    protected static final String DIRECT_COMMAND_BINDING = "directCommandBinding";
+    private static final String DIRECT_COMMAND_BINDING_EXTENSION = "x-yaver-direct-command-binding";
+    protected static final String PRECOMPILED_VALIDATION = "precompiledValidation";
+    private static final String DISPLAY_NAME_EXTENSION = "x-yaver-display-name";
+    private static final String HAS_BODY_VALIDATION_RULES_EXTENSION = "x-yaver-has-body-validation-rules";
+    protected static final String EDGE_VALIDATION_ONLY = "edgeValidationOnly";
+    private static final String COMMAND_VALIDATOR_EXTENSION = "x-yaver-command-validator";
 
     @SuppressWarnings("hiding")
     private final Logger LOGGER = LoggerFactory.getLogger(YaverCsGateway.class);
@@ -176,6 +186,26 @@ public class YaverCsGateway extends AbstractCSharpCodegen {
     protected String fluentValidationVersion = "12.1.1";
     protected String messagePackVersion = "3.1.8";
     protected String schemasPackageName = null;
+    protected boolean incrementalGeneration = false;
+    protected boolean skipUnchangedFiles = true;
+    protected boolean parallelRendering = false;
+    protected boolean pooledFileBuffers = false;
+    protected boolean directCommandBinding = false;
+    protected boolean precompiledValidation = false;
+    protected boolean edgeValidationOnly = false;
+    private ResponseContractValidator responseContractValidator;
+    private ResponseContractReport responseContractReport;
+    private FileUploadMapping fileUploadMapping;
+    private ResponseCaching responseCaching;
+    private boolean hasResponseCache;
+    private RequestCoalescing requestCoalescing;
+    private boolean hasRequestCoalescing;
+    private MessagePackKeyManifest messagePackKeys;
+    private Map<String, List<CodegenOperation>> operationsByTag;
+    private final ModelPropertyIndex modelProperties = new ModelPropertyIndex();
+    private MessagePackTypeRegistry messagePackTypes = new MessagePackTypeRegistry();
+    private final PropertyReconciliation propertyReconciliation = new PropertyReconciliation();
+    private final ParentModelCache parentModels = new ParentModelCache();
 
     public YaverCsGateway() {
         super();
@@ -288,6 +318,74 @@ public class YaverCsGateway extends AbstractCSharpCodegen {
                 "When true, generates a separate Schemas csproj for models/enums/validators without FastEndpoints dependency.",
                 this.splitSchemas);
 
+        addSwitch(INCREMENTAL_GENERATION,
+                "When true, api and model files whose inputs are unchanged since the previous run are neither rendered nor rewritten. Fingerprints are kept in "
+                        + IncrementalGeneration.MANIFEST_PATH + " inside the output directory.",
+                this.incrementalGeneration);
+
+        addSwitch(GeneratedOutput.SKIP_UNCHANGED_FILES,
+                GeneratedOutput.SKIP_UNCHANGED_FILES_DESC,
+                this.skipUnchangedFiles);
+
+        addSwitch(ParallelRendering.PARALLEL_RENDERING,
+                ParallelRendering.PARALLEL_RENDERING_DESC,
+                this.parallelRendering);
+
+        addOption(GenerationProfile.YAVER_PROFILE,
+                GenerationProfile.YAVER_PROFILE_DESC,
+                null);
+
+        addOption(ResponseContractReport.RESPONSE_CONTRACT_VALIDATION,
+                ResponseContractReport.RESPONSE_CONTRACT_VALIDATION_DESC,
+                ResponseContractReport.FAIL_FAST);
+
+        addOption(ResponseContractReport.RESPONSE_CONTRACT_REPORT,
+                ResponseContractReport.RESPONSE_CONTRACT_REPORT_DESC,
+                null);
+
+        addSwitch(FileUploadMapping.FILE_STREAMING,
+                FileUploadMapping.FILE_STREAMING_DESC,
+                false);
+
+        addOption(FileUploadMapping.FILE_UPLOAD_MAX_BYTES,
+                FileUploadMapping.FILE_UPLOAD_MAX_BYTES_DESC,
+                null);
+
+        addOption(ResponseCaching.RESPONSE_CACHE_SIZE_LIMIT,
+                ResponseCaching.RESPONSE_CACHE_SIZE_LIMIT_DESC,
+                String.valueOf(ResponseCaching.DEFAULT_SIZE_LIMIT));
+
+        addSwitch(RequestCoalescing.REQUEST_COALESCING,
+                RequestCoalescing.REQUEST_COALESCING_DESC,
+                false);
+
+        addSwitch(FileUploadMapping.POOLED_FILE_BUFFERS,
+                FileUploadMapping.POOLED_FILE_BUFFERS_DESC,
+                this.pooledFileBuffers);
+
+        addOption(MessagePackKeyManifest.MESSAGEPACK_KEY_MANIFEST,
+                MessagePackKeyManifest.MESSAGEPACK_KEY_MANIFEST_DESC,
+                null);
+
+        addSwitch(DIRECT_COMMAND_BINDING,
+                "When true, endpoints bind the request straight into the remote command (body DTO included) "
+                        + "instead of binding a *Request and mapping it with Mapperly, for operations without "
+                        + "file uploads or an x-yaver-direct-command-binding extension.",
+                this.directCommandBinding);
+
+        addSwitch(PRECOMPILED_VALIDATION,
+                "When true, gateway endpoints check the path, header, query and body rules of an operation with a "
+                        + "generated TryValidate pre-processor instead of a FluentValidation request validator. "
+                        + "Body schema rules still run through the model validators.",
+                this.precompiledValidation);
+
+        addSwitch(EDGE_VALIDATION_ONLY,
+                "When true, requests are only validated by the endpoint: no *CommandValidator is generated for "
+                        + "mapped commands, and commands with a body carry PreValidated = true so yaver-proxy "
+                        + "services with trustPreValidatedCommands skip revalidating them. The flag is not "
+                        + "authenticated.",
+                this.edgeValidationOnly);
+
         CliOption framework = new CliOption(
                 CodegenConstants.DOTNET_FRAMEWORK,
                 CodegenConstants.DOTNET_FRAMEWORK_DESC);
@@ -403,12 +501,14 @@ public class YaverCsGateway extends AbstractCSharpCodegen {
 
     @Override
     public CodegenModel fromModel(String name, Schema model) {
+        GenerationProfile.Span span = profile().start(GenerationProfile.FROM_MODEL, name);
         Map<String, Schema> allDefinitions = ModelUtils.getSchemas(this.openAPI);
         CodegenModel codegenModel = super.fromModel(name, model);
         if (allDefinitions != null && codegenModel != null && codegenModel.parent != null) {
             final Schema parentModel = allDefinitions.get(toModelName(codegenModel.parent));
             if (parentModel != null) {
-                final CodegenModel parentCodegenModel = super.fromModel(codegenModel.parent, parentModel);
+                final CodegenModel parentCodegenModel = parentModels.get(codegenModel.parent, parentModel,
+                        super::fromModel);
                 if (codegenModel.hasEnums) {
                     codegenModel = this.reconcileInlineEnums(codegenModel, parentCodegenModel);
                 }
@@ -441,71 +541,22 @@ public class YaverCsGateway extends AbstractCSharpCodegen {
 
         // Cleanup possible duplicates. Currently, readWriteVars can contain the same
         // property twice. May or may not be isolated to C#.
-        if (codegenModel != null && codegenModel.readWriteVars != null && codegenModel.readWriteVars.size() > 1) {
-            int length = codegenModel.readWriteVars.size() - 1;
-            for (int i = length; i > (length / 2); i--) {
-                final CodegenProperty codegenProperty = codegenModel.readWriteVars.get(i);
-                // If the property at current index is found earlier in the list, remove this
-                // last instance.
-                if (codegenModel.readWriteVars.indexOf(codegenProperty) < i) {
-                    codegenModel.readWriteVars.remove(i);
-                }
-            }
+        if (codegenModel != null) {
+            PropertyReconciliation.removeLaterDuplicates(codegenModel.readWriteVars);
         }
 
-        Collections.sort(codegenModel.vars, propertyComparatorByName);
-        Collections.sort(codegenModel.allVars, propertyComparatorByName);
-        Collections.sort(codegenModel.requiredVars, propertyComparatorByName);
-        Collections.sort(codegenModel.optionalVars, propertyComparatorByName);
-        Collections.sort(codegenModel.readOnlyVars, propertyComparatorByName);
-        Collections.sort(codegenModel.readWriteVars, propertyComparatorByName);
-        Collections.sort(codegenModel.parentVars, propertyComparatorByName);
-
-        Comparator<CodegenProperty> comparator = propertyComparatorByNullable
-                .thenComparing(propertyComparatorByDefaultValue);
-        Collections.sort(codegenModel.vars, comparator);
-        Collections.sort(codegenModel.allVars, comparator);
-        Collections.sort(codegenModel.requiredVars, comparator);
-        Collections.sort(codegenModel.optionalVars, comparator);
-        Collections.sort(codegenModel.readOnlyVars, comparator);
-        Collections.sort(codegenModel.readWriteVars, comparator);
-        Collections.sort(codegenModel.parentVars, comparator);
+        PropertyOrder.sort(codegenModel.vars);
+        PropertyOrder.sort(codegenModel.allVars);
+        PropertyOrder.sort(codegenModel.requiredVars);
+        PropertyOrder.sort(codegenModel.optionalVars);
+        PropertyOrder.sort(codegenModel.readOnlyVars);
+        PropertyOrder.sort(codegenModel.readWriteVars);
+        PropertyOrder.sort(codegenModel.parentVars);
         // }
 
-        return codegenModel;
+        return span.end(codegenModel);
     }
 
-    public static Comparator<CodegenProperty> propertyComparatorByName = new Comparator<CodegenProperty>() {
-        @Override
-        public int compare(CodegenProperty one, CodegenProperty another) {
-            return one.name.compareTo(another.name);
-        }
-    };
-
-    public static Comparator<CodegenProperty> propertyComparatorByDefaultValue = new Comparator<CodegenProperty>() {
-        @Override
-        public int compare(CodegenProperty one, CodegenProperty another) {
-            if ((one.defaultValue == null) == (another.defaultValue == null))
-                return 0;
-            else if (one.defaultValue == null)
-                return -1;
-            else
-                return 1;
-        }
-    };
-
-    public static Comparator<CodegenProperty> propertyComparatorByNullable = new Comparator<CodegenProperty>() {
-        @Override
-        public int compare(CodegenProperty one, CodegenProperty another) {
-            if (one.isNullable == another.isNullable)
-                return 0;
-            else if (Boolean.FALSE.equals(one.isNullable))
-                return -1;
-            else
-                return 1;
-        }
-    };
-
     public static Comparator<CodegenParameter> parameterComparatorByDataType = new Comparator<CodegenParameter>() {
         @Override
         public int compare(CodegenParameter one, CodegenParameter another) {
@@ -736,6 +787,40 @@ public class YaverCsGateway extends AbstractCSharpCodegen {
         }
         additionalProperties.put(MESSAGEPACK_VERSION, this.messagePackVersion);
 
+        if (additionalProperties.containsKey(INCREMENTAL_GENERATION)) {
+            this.incrementalGeneration = convertPropertyToBooleanAndWriteBack(INCREMENTAL_GENERATION);
+        } else {
+            additionalProperties.put(INCREMENTAL_GENERATION, this.incrementalGeneration);
+        }
+
+        if (additionalProperties.containsKey(GeneratedOutput.SKIP_UNCHANGED_FILES)) {
+            this.skipUnchangedFiles = convertPropertyToBooleanAndWriteBack(GeneratedOutput.SKIP_UNCHANGED_FILES);
+        } else {
+            additionalProperties.put(GeneratedOutput.SKIP_UNCHANGED_FILES, this.skipUnchangedFiles);
+        }
+
+        if (additionalProperties.containsKey(ParallelRendering.PARALLEL_RENDERING)) {
+            this.parallelRendering = convertPropertyToBooleanAndWriteBack(ParallelRendering.PARALLEL_RENDERING);
+        } else {
+            additionalProperties.put(ParallelRendering.PARALLEL_RENDERING, this.parallelRendering);
+        }
+
+        this.responseContractReport = ResponseContractReport.fromOptions(getName(), getInputSpec(), outputFolder(),
+                additionalProperties);
+        syncBooleanProperty(additionalProperties, FileUploadMapping.POOLED_FILE_BUFFERS,
+                value -> this.pooledFileBuffers = value, this.pooledFileBuffers);
+        this.fileUploadMapping = FileUploadMapping.fromOptions(additionalProperties);
+        fileUploadMapping.publish(additionalProperties);
+        this.responseCaching = ResponseCaching.fromOptions(additionalProperties);
+        this.requestCoalescing = RequestCoalescing.fromOptions(additionalProperties);
+        syncBooleanProperty(additionalProperties, DIRECT_COMMAND_BINDING,
+                value -> this.directCommandBinding = value, this.directCommandBinding);
+        syncBooleanProperty(additionalProperties, PRECOMPILED_VALIDATION,
+                value -> this.precompiledValidation = value, this.precompiledValidation);
+        syncBooleanProperty(additionalProperties, EDGE_VALIDATION_ONLY,
+                value -> this.edgeValidationOnly = value, this.edgeValidationOnly);
+        this.messagePackKeys = MessagePackKeyManifest.fromOptions(outputFolder(), additionalProperties);
+
         if (this.splitSchemas) {
             this.schemasPackageName = packageName.replace(".Features", ".Schemas");
             additionalProperties.put(SCHEMAS_PACKAGE_NAME, this.schemasPackageName);
@@ -788,6 +873,9 @@ public class YaverCsGateway extends AbstractCSharpCodegen {
         supportingFiles.add(new SupportingFile("README.mustache", "", "README.md"));
         supportingFiles.add(new SupportingFile("netcore_project.mustache", packageFolder, packageName + ".csproj"));
         supportingFiles.add(new SupportingFile("maps.cs.mustache",packageFolder, "Maps.cs"));
+        if (this.precompiledValidation) {
+            supportingFiles.add(new SupportingFile("generated_validation.mustache", packageFolder, "GeneratedValidation.cs"));
+        }
         // supportingFiles.add(new SupportingFile("Project.nuspec.mustache",
         // packageFolder, packageName + ".nuspec"));
 
@@ -805,6 +893,52 @@ public class YaverCsGateway extends AbstractCSharpCodegen {
         this.setTypeMapping();
     }
 
+    /**
+     * The template engine is requested before {@link #processOpts()} runs, so
+     * the incremental, skip-unchanged and parallel-rendering switches are read
+     * straight from the additional properties.
+     */
+    @Override
+    public TemplatingEngineAdapter getTemplatingEngine() {
+        TemplatingEngineAdapter engine = super.getTemplatingEngine();
+        TemplatingEngineAdapter wrapped = YaverTemplatingEngine.wrap(this, engine, isIncrementalGenerationRequested());
+        if (wrapped != engine) {
+            setTemplatingEngine(wrapped);
+        }
+        return wrapped;
+    }
+
+    private GenerationProfile profile() {
+        return YaverTemplatingEngine.profile(super.getTemplatingEngine());
+    }
+
+    @Override
+    public boolean isEnableMinimalUpdate() {
+        // Unchanged and reused files are handed back as they are; minimal update keeps them (and their mtime).
+        return super.isEnableMinimalUpdate()
+                || GeneratedOutput.isSkipUnchangedRequested(additionalProperties)
+                || isIncrementalGenerationRequested();
+    }
+
+    @Override
+    public void postProcess() {
+        messagePackKeys.save();
+        YaverTemplatingEngine.finish(super.getTemplatingEngine());
+        super.postProcess();
+    }
+
+    /**
+     * Collect-all report of this run, {@code null} in fail-fast mode.
+     */
+    ResponseContractReport responseContractReport() {
+        return responseContractReport;
+    }
+
+    private boolean isIncrementalGenerationRequested() {
+        Object value = additionalProperties.get(INCREMENTAL_GENERATION);
+        return value != null && Boolean.parseBoolean(value.toString());
+    }
+
     @Override
     public void setUseSourceGeneration(final Boolean useSourceGeneration) {
         if (useSourceGeneration && !this.additionalProperties.containsKey(NET_80_OR_LATER)) {
@@ -822,6 +956,8 @@ public class YaverCsGateway extends AbstractCSharpCodegen {
             String httpMethod,
             Operation operation,
             List<Server> servers) {
+        GenerationProfile.Span span = profile().start(GenerationProfile.FROM_OPERATION,
+                operation.getOperationId() != null ? operation.getOperationId() : path);
         CodegenOperation op = super.fromOperation(path, httpMethod, operation, servers);
 
         Collections.sort(op.allParams, parameterComparatorByDataType);
@@ -850,7 +986,7 @@ public class YaverCsGateway extends AbstractCSharpCodegen {
         Collections.sort(op.optionalParams, comparator);
         Collections.sort(op.notNullableParams, comparator);
 
-        return op;
+        return span.end(op);
     }
 
     public void setNetStandard(Boolean netStandard) {
@@ -1243,7 +1379,7 @@ public class YaverCsGateway extends AbstractCSharpCodegen {
         // }
         // } else {
         if (model.parentModel != null
-                && model.parentModel.allVars.stream().anyMatch(v -> v.baseName.equals(property.baseName))) {
+                && propertyReconciliation.containsBaseName(model.parentModel.allVars, property.baseName)) {
             property.isInherited = true;
         }
         // }
@@ -1260,13 +1396,13 @@ public class YaverCsGateway extends AbstractCSharpCodegen {
 
     @Override
     public ModelsMap postProcessModels(ModelsMap objs) {
+        GenerationProfile.Span span = profile().start(GenerationProfile.POST_PROCESS_MODELS,
+                GenerationProfile.subject(objs));
         objs = super.postProcessModels(objs);
 
         Set<String> structModelTypes = objs.getModels().stream()
                 .map(ModelMap::getModel)
-                .filter(cm -> !cm.isEnum)
-                .filter(cm -> cm.oneOf == null || cm.oneOf.isEmpty())
-                .filter(cm -> cm.anyOf == null || cm.anyOf.isEmpty())
+                .filter(YaverCsGateway::isStructModel)
                 .map(cm -> cm.classname)
                 .collect(Collectors.toCollection(HashSet::new));
 
@@ -1296,19 +1432,15 @@ public class YaverCsGateway extends AbstractCSharpCodegen {
                 cm.getComposedSchemas().getAnyOf().removeIf(o -> o.dataType.equals("Null"));
             }
 
-            for (CodegenProperty cp : cm.readWriteVars) {
-                // ISSUE: https://github.com/OpenAPITools/openapi-generator/issues/11844
-                // allVars may not have all properties
-                // see modules\openapi-generator\src\test\resources\3_0\allOf.yaml
-                // property boosterSeat will be in readWriteVars but not allVars
-                // the property is present in the model but gets removed at
-                // CodegenModel#removeDuplicatedProperty
-                if (Boolean.FALSE.equals(cm.allVars.stream().anyMatch(v -> v.baseName.equals(cp.baseName)))) {
-                    LOGGER.debug("Property " + cp.baseName
-                            + " was found in readWriteVars but not in allVars. Adding it back to allVars");
-                    cm.allVars.add(cp);
-                }
-            }
+            // ISSUE: https://github.com/OpenAPITools/openapi-generator/issues/11844
+            // allVars may not have all properties
+            // see modules\openapi-generator\src\test\resources\3_0\allOf.yaml
+            // property boosterSeat will be in readWriteVars but not allVars
+            // the property is present in the model but gets removed at
+            // CodegenModel#removeDuplicatedProperty
+            propertyReconciliation.addMissingByBaseName(cm.allVars, cm.readWriteVars,
+                    cp -> LOGGER.debug("Property " + cp.baseName
+                            + " was found in readWriteVars but not in allVars. Adding it back to allVars"));
 
             patchModelMetadata(cm, structModelTypes);
         }
@@ -1318,106 +1450,92 @@ public class YaverCsGateway extends AbstractCSharpCodegen {
             patchModelImports(cm);
         }
 
-        return objs;
+        return span.end(objs);
     }
 
     @Override
     public Map<String, ModelsMap> postProcessAllModels(Map<String, ModelsMap> objs) {
+        GenerationProfile.Span span = profile().start(GenerationProfile.POST_PROCESS_ALL_MODELS, null);
         Map<String, ModelsMap> result = super.postProcessAllModels(objs);
 
-        LinkedHashSet<String> messagePackCollectionTypes = result.values().stream()
-            .flatMap(entry -> entry.getModels().stream())
-            .map(ModelMap::getModel)
-            .flatMap(model -> getUniqueModelProperties(model).stream())
-            .map(this::getMessagePackCollectionItemType)
-            .filter(Objects::nonNull)
-            .collect(Collectors.toCollection(LinkedHashSet::new));
-
-        additionalProperties.put(MESSAGEPACK_COLLECTION_TYPES, new ArrayList<>(messagePackCollectionTypes));
+        // One pass collects everything the validator patching needs across models; the second patches.
+        MessagePackTypeRegistry messagePackTypes = new MessagePackTypeRegistry();
+        Set<String> structModelTypes = new HashSet<>();
+        Map<String, Boolean> validationRulesByModel = new HashMap<>();
+        for (ModelsMap entry : result.values()) {
+            for (ModelMap mo : entry.getModels()) {
+                CodegenModel model = mo.getModel();
+                boolean hasValidationRules = false;
+                for (CodegenProperty property : modelProperties.properties(model)) {
+                    hasValidationRules |= hasValidationRules(property);
+                }
 
-        Set<String> structModelTypes = result.values().stream()
-            .flatMap(entry -> entry.getModels().stream())
-            .map(ModelMap::getModel)
-            .filter(cm -> !cm.isEnum)
-            .filter(cm -> cm.oneOf == null || cm.oneOf.isEmpty())
-            .filter(cm -> cm.anyOf == null || cm.anyOf.isEmpty())
-            .map(cm -> cm.classname)
-            .collect(Collectors.toCollection(HashSet::new));
+                if (model.isEnum) {
+                    messagePackTypes.addEnum(model.classname);
+                } else if (isStructModel(model)) {
+                    structModelTypes.add(model.classname);
+                    messagePackTypes.addDto(model.classname);
+                    messagePackKeys.assign(model.classname, model.vars);
+                    collectMessagePackPropertyTypes(model, messagePackTypes);
+                }
+                validationRulesByModel.putIfAbsent(model.classname, hasValidationRules);
+                model.vendorExtensions.put(HAS_VALIDATION_RULES_EXTENSION, hasValidationRules);
+            }
+        }
 
-        Map<String, Boolean> validationRulesByModel = result.values().stream()
-                .flatMap(entry -> entry.getModels().stream())
-                .map(ModelMap::getModel)
-                .collect(Collectors.toMap(model -> model.classname,
-                        this::hasModelValidationRules,
-                        (left, right) -> left,
-                        HashMap::new));
+        messagePackTypes.publish(additionalProperties);
+        this.messagePackTypes = messagePackTypes;
 
         for (ModelsMap entry : result.values()) {
             for (ModelMap mo : entry.getModels()) {
                 CodegenModel model = mo.getModel();
                 patchModelValidatorMetadata(model, validationRulesByModel, structModelTypes);
-                model.vendorExtensions.put(HAS_VALIDATION_RULES_EXTENSION, hasModelValidationRules(model));
                 patchModelImports(model);
             }
         }
 
-        return result;
+        YaverTemplatingEngine.prepareModels(super.getTemplatingEngine(), result.values());
+        return span.end(result);
     }
 
-    private List<CodegenProperty> getUniqueModelProperties(CodegenModel model) {
-        Map<String, CodegenProperty> properties = new LinkedHashMap<>();
-        collectProperties(properties, model.vars);
-        collectProperties(properties, model.allVars);
-        collectProperties(properties, model.readWriteVars);
-        collectProperties(properties, model.requiredVars);
-        collectProperties(properties, model.optionalVars);
-        collectProperties(properties, model.parentRequiredVars);
-        collectProperties(properties, model.nonNullableVars);
-
-        return new ArrayList<>(properties.values());
+    private static boolean isStructModel(CodegenModel model) {
+        return !model.isEnum
+                && (model.oneOf == null || model.oneOf.isEmpty())
+                && (model.anyOf == null || model.anyOf.isEmpty());
     }
 
-    private String getMessagePackCollectionItemType(CodegenProperty property) {
-        if (property == null || !property.isContainer || property.items == null) {
-            return null;
-        }
-
-        String itemType = firstNonBlank(
-            property.items.datatypeWithEnum,
-            property.items.dataType,
-            property.items.complexType,
-            property.items.baseType);
-
-        if (itemType == null || itemType.isBlank()) {
-            return null;
+    /**
+     * Records the member types a generated struct declares, as the resolver
+     * sees them: nested enums qualified with the struct name and optional
+     * members as nullable.
+     */
+    private void collectMessagePackPropertyTypes(CodegenModel model, MessagePackTypeRegistry messagePackTypes) {
+        if (model.vars == null) {
+            return;
         }
 
-        String normalized = normalizeCSharpType(itemType);
-        if ("object".equals(normalized)) {
-            return null;
+        for (CodegenProperty property : model.vars) {
+            String type = stripNullable((String) property.vendorExtensions.get(FRIENDLY_TYPE_EXTENSION));
+            CodegenProperty nestedEnum = property.isEnum && !property.isContainer ? property
+                    : property.isContainer && property.items != null && property.items.isEnum ? property.items
+                    : null;
+            if (nestedEnum != null && nestedEnum.datatypeWithEnum != null && !nestedEnum.datatypeWithEnum.isBlank()) {
+                String qualified = model.classname + "." + nestedEnum.datatypeWithEnum;
+                type = type.replaceAll("(?<![.\\w])" + Pattern.quote(nestedEnum.datatypeWithEnum) + "\\b",
+                        Matcher.quoteReplacement(qualified));
+                messagePackTypes.addEnum(qualified);
+            }
+            messagePackTypes.addType(property.required ? type : type + "?");
         }
-
-        return normalized;
     }
 
     private void patchModelMetadata(CodegenModel model, Set<String> structModelTypes) {
-        Map<String, CodegenProperty> properties = new LinkedHashMap<>();
-
-        collectProperties(properties, model.vars);
-        collectProperties(properties, model.allVars);
-        collectProperties(properties, model.readWriteVars);
-        collectProperties(properties, model.requiredVars);
-        collectProperties(properties, model.optionalVars);
-        collectProperties(properties, model.parentRequiredVars);
-        collectProperties(properties, model.nonNullableVars);
-
-        patchProperties(new ArrayList<>(properties.values()), structModelTypes);
-
         boolean hasCollections = Boolean.TRUE.equals(model.isAdditionalPropertiesTrue);
         boolean hasJsonElements = Boolean.TRUE.equals(model.isAdditionalPropertiesTrue);
         boolean hasValidationRules = false;
         boolean hasPropertyInitializers = false;
-        for (CodegenProperty property : properties.values()) {
+        for (CodegenProperty property : modelProperties.properties(model)) {
+            patchPropertyMetadata(property, structModelTypes);
             hasCollections |= property.isContainer;
             hasJsonElements |= Boolean.TRUE.equals(property.vendorExtensions.get(HAS_JSON_ELEMENTS_EXTENSION));
             hasValidationRules |= hasValidationRules(property);
@@ -1431,41 +1549,11 @@ public class YaverCsGateway extends AbstractCSharpCodegen {
         model.vendorExtensions.put(HAS_PROPERTY_INITIALIZERS_EXTENSION, hasPropertyInitializers);
     }
 
-    private void patchProperties(List<CodegenProperty> properties, Set<String> structModelTypes) {
-        if (properties == null) {
-            return;
-        }
-
-        for (CodegenProperty property : properties) {
-            patchPropertyMetadata(property, structModelTypes);
-        }
-    }
-
-    private void collectProperties(Map<String, CodegenProperty> target, List<CodegenProperty> properties) {
-        if (properties == null) {
-            return;
-        }
-
-        for (CodegenProperty property : properties) {
-            target.putIfAbsent(property.baseName, property);
-        }
-    }
-
         private void patchModelValidatorMetadata(CodegenModel model, Map<String, Boolean> validationRulesByModel,
             Set<String> structModelTypes) {
         LinkedHashMap<String, Map<String, String>> validatorDependencies = new LinkedHashMap<>();
 
-        Map<String, CodegenProperty> properties = new LinkedHashMap<>();
-
-        collectProperties(properties, model.vars);
-        collectProperties(properties, model.allVars);
-        collectProperties(properties, model.readWriteVars);
-        collectProperties(properties, model.requiredVars);
-        collectProperties(properties, model.optionalVars);
-        collectProperties(properties, model.parentRequiredVars);
-        collectProperties(properties, model.nonNullableVars);
-
-        patchPropertyValidators(new ArrayList<>(properties.values()), validationRulesByModel, structModelTypes,
+        patchPropertyValidators(modelProperties.properties(model), validationRulesByModel, structModelTypes,
             validatorDependencies);
 
         model.vendorExtensions.put(VALIDATOR_DEPENDENCIES_EXTENSION, new ArrayList<>(validatorDependencies.values()));
@@ -1586,20 +1674,6 @@ public class YaverCsGateway extends AbstractCSharpCodegen {
         model.vendorExtensions.put(IMPORTS_EXTENSION, new ArrayList<>(imports));
     }
 
-    private boolean hasModelValidationRules(CodegenModel model) {
-        Map<String, CodegenProperty> properties = new LinkedHashMap<>();
-
-        collectProperties(properties, model.vars);
-        collectProperties(properties, model.allVars);
-        collectProperties(properties, model.readWriteVars);
-        collectProperties(properties, model.requiredVars);
-        collectProperties(properties, model.optionalVars);
-        collectProperties(properties, model.parentRequiredVars);
-        collectProperties(properties, model.nonNullableVars);
-
-        return properties.values().stream().anyMatch(this::hasValidationRules);
-    }
-
     private void patchPropertyMetadata(CodegenProperty property, Set<String> structModelTypes) {
         boolean prefersEnumType = property.isEnum || (property.items != null && property.items.isEnum);
         String friendlyType = normalizeSchemaContractType(normalizeCSharpType(prefersEnumType
@@ -1800,6 +1874,8 @@ public class YaverCsGateway extends AbstractCSharpCodegen {
 
     @Override
     public OperationsMap postProcessOperationsWithModels(OperationsMap objs, List<ModelMap> allModels) {
+        GenerationProfile.Span span = profile().start(GenerationProfile.POST_PROCESS_OPERATIONS,
+                GenerationProfile.subject(objs));
         OperationMap operations = objs.getOperations();
         List<CodegenOperation> operationList = operations.getOperation();
         Map<String, Boolean> validationRulesByModel = allModels.stream()
@@ -1810,6 +1886,8 @@ public class YaverCsGateway extends AbstractCSharpCodegen {
                         HashMap::new));
         boolean hasRequestValidation = false;
         boolean hasRequiredStringValidation = false;
+        boolean hasFileParams = false;
+        ResponseContractValidator validator = responseContractValidator(allModels);
 
         for (CodegenOperation op : operationList) {
             boolean hasOffsetValidation = hasParameterNamed(op.queryParams, "Offset");
@@ -1832,10 +1910,27 @@ public class YaverCsGateway extends AbstractCSharpCodegen {
             op.vendorExtensions.put(VALIDATE_OFFSET_EXTENSION, hasOffsetValidation);
             op.vendorExtensions.put(VALIDATE_LIMIT_EXTENSION, hasLimitValidation);
             op.vendorExtensions.put(VALIDATE_DATE_RANGE_EXTENSION, hasDateRangeValidation);
+            hasFileParams |= fileUploadMapping.apply(op);
+            applyDirectCommandBinding(op);
+            // Directly bound commands without precompiled validation are validated by their command validator.
+            op.vendorExtensions.put(COMMAND_VALIDATOR_EXTENSION, hasOperationValidation && (!edgeValidationOnly
+                    || Boolean.TRUE.equals(op.vendorExtensions.get(DIRECT_COMMAND_BINDING_EXTENSION))
+                            && !precompiledValidation));
 
             if (op.bodyParam != null) {
                 boolean hasBodyValidationRules = Boolean.TRUE.equals(validationRulesByModel.get(op.bodyParam.dataType));
                 op.bodyParam.vendorExtensions.put(HAS_VALIDATION_RULES_EXTENSION, hasBodyValidationRules);
+                op.vendorExtensions.put(HAS_BODY_VALIDATION_RULES_EXTENSION, hasBodyValidationRules);
+            }
+            if (precompiledValidation) {
+                Stream.of(op.pathParams, op.headerParams, op.queryParams, op.formParams)
+                        .filter(Objects::nonNull)
+                        .flatMap(List::stream)
+                        .forEach(parameter -> parameter.vendorExtensions.put(DISPLAY_NAME_EXTENSION,
+                                displayName(parameter.paramName)));
+                if (op.bodyParam != null) {
+                    op.bodyParam.vendorExtensions.put(DISPLAY_NAME_EXTENSION, displayName(op.bodyParam.paramName));
+                }
             }
 
             for (CodegenParameter bodyParam : op.bodyParams) {
@@ -1843,8 +1938,11 @@ public class YaverCsGateway extends AbstractCSharpCodegen {
                 bodyParam.vendorExtensions.put(HAS_VALIDATION_RULES_EXTENSION, hasBodyValidationRules);
             }
 
-            CodegenResponse successResponse = ResponseContractValidator.requireSingleSuccessResponse(op, allModels);
-            ResponseContractValidator.requireProblemDetailsErrors(op, allModels);
+            GenerationProfile.Span contractSpan = profile().start(GenerationProfile.RESPONSE_CONTRACT,
+                    op.operationId);
+            CodegenResponse successResponse = validator.requireSingleSuccessResponse(op);
+            validator.requireProblemDetailsErrors(op);
+            contractSpan.end();
 
             if (successResponse != null) {
                 op.vendorExtensions.put("hasSuccessResponse", true);
@@ -1859,10 +1957,9 @@ public class YaverCsGateway extends AbstractCSharpCodegen {
                 if (responseModel != null && !responseModel.isEmpty()) {
                     op.vendorExtensions.put("isObjectResponse", false);
                     op.vendorExtensions.put("successResponseModel", responseModel);
+                    messagePackTypes.addResultType(normalizeCSharpType(responseModel));
                 } else if (!successResponseBodyless) {
-                    throw new IllegalArgumentException(
-                            "Operation '" + op.operationId
-                                    + "' declares a success response body without a resolvable schema type.");
+                    validator.requireResolvableSuccessType(op, successResponse);
                 }
 
                 // Add response message if exists
@@ -1890,12 +1987,55 @@ public class YaverCsGateway extends AbstractCSharpCodegen {
             } else {
                 op.vendorExtensions.put("hasSuccessResponse", false);
             }
+
+            if (responseCaching.apply(op) && !hasResponseCache) {
+                // The cache is only generated once an operation asks for it.
+                hasResponseCache = true;
+                supportingFiles.add(new SupportingFile("response_cache.mustache",
+                        sourceFolder + File.separator + packageName, "GatewayResponseCache.cs"));
+            }
+            if (requestCoalescing.apply(op) && !hasRequestCoalescing) {
+                hasRequestCoalescing = true;
+                supportingFiles.add(new SupportingFile("request_coalescer.mustache",
+                        sourceFolder + File.separator + packageName, "GatewayRequestCoalescer.cs"));
+            }
         }
 
         objs.put(HAS_REQUEST_VALIDATION_EXTENSION, hasRequestValidation);
         objs.put(HAS_REQUIRED_STRING_VALIDATION_EXTENSION, hasRequiredStringValidation);
+        // The mappers of a tag only need the async usings for its ToCommandAsync mappers.
+        objs.put(FileUploadMapping.HAS_FILE_PARAMS_EXTENSION, hasFileParams);
+        messagePackTypes.publish(additionalProperties);
+        fileUploadMapping.publish(additionalProperties);
 
-        return super.postProcessOperationsWithModels(objs, allModels);
+        return span.end(super.postProcessOperationsWithModels(objs, allModels));
+    }
+
+    @Override
+    public void addOperationToGroup(String tag, String resourcePath, Operation operation, CodegenOperation co,
+            Map<String, List<CodegenOperation>> operations) {
+        super.addOperationToGroup(tag, resourcePath, operation, co, operations);
+        this.operationsByTag = operations;
+    }
+
+    /**
+     * Builds the response contract validator once per run; the generator
+     * hands the same model list to every tag. In collect-all mode every
+     * operation is validated up front and the report is written before the
+     * first tag is post-processed.
+     */
+    private ResponseContractValidator responseContractValidator(List<ModelMap> allModels) {
+        ResponseContractValidator validator = this.responseContractValidator;
+        if (validator == null || !validator.isFor(allModels)) {
+            validator = ResponseContractValidator.forModels(allModels);
+            this.responseContractValidator = validator;
+            if (responseContractReport != null && operationsByTag != null) {
+                GenerationProfile.Span span = profile().start(GenerationProfile.RESPONSE_CONTRACT, null);
+                responseContractReport.complete(validator.validateAll(operationsByTag));
+                span.end();
+            }
+        }
+        return validator;
     }
 
     private boolean requiresNonBlankStringValidation(CodegenParameter parameter) {
@@ -1904,6 +2044,31 @@ public class YaverCsGateway extends AbstractCSharpCodegen {
                 && Boolean.TRUE.equals(parameter.vendorExtensions.get(STRING_TYPE_EXTENSION));
     }
 
+    /**
+     * Marks operations whose endpoint binds the remote command directly:
+     * the {@code directCommandBinding} default or the operation's
+     * {@code x-yaver-direct-command-binding}, never for file uploads, which
+     * need the async {@code ToCommandAsync} mapping. The header and body
+     * params get the marker too, for their binding attributes.
+     */
+    private void applyDirectCommandBinding(CodegenOperation op) {
+        Object requested = op.vendorExtensions.get(DIRECT_COMMAND_BINDING_EXTENSION);
+        boolean direct = !Boolean.TRUE.equals(op.vendorExtensions.get(FileUploadMapping.HAS_FILE_PARAMS_EXTENSION))
+                && (requested == null ? directCommandBinding : Boolean.parseBoolean(requested.toString()));
+
+        op.vendorExtensions.put(DIRECT_COMMAND_BINDING_EXTENSION, direct);
+        Stream.concat(op.headerParams.stream(), Stream.ofNullable(op.bodyParam))
+                .forEach(parameter -> parameter.vendorExtensions.put(DIRECT_COMMAND_BINDING_EXTENSION, direct));
+    }
+
+    /**
+     * The property name FluentValidation puts in its messages: PascalCase
+     * split into words ("WidgetId" becomes "Widget Id").
+     */
+    private static String displayName(String paramName) {
+        return paramName == null ? "" : paramName.replaceAll("(?<=[a-z0-9])(?=[A-Z])|(?<=[A-Z])(?=[A-Z][a-z])", " ");
+    }
+
     private boolean hasParameterNamed(List<CodegenParameter> parameters, String paramName) {
         if (parameters == null || parameters.isEmpty()) {
             return false;
@@ -0,0 +1,187 @@
+package dev.yaver.codegen;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.openapitools.codegen.config.GlobalSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Long-lived generation daemon.
+ *
+ * <p>Keeps one JVM warm across many generation jobs, so generator lookup,
+ * class loading, JIT warm-up and template compilation (see
+ * {@link CompiledTemplates}) are paid once instead of per invocation. Jobs are
+ * JSON objects, one per line, read from stdin or, with {@code --port}, from
+ * connections to a localhost socket; each job is answered with one JSON line.
+ * Jobs run one at a time, exactly as {@code openapi-generator generate}
+ * would run them.</p>
+ *
+ * <pre>
+ * {"id":"gw","generator":"yaver-cs-gateway","inputSpec":"api.yaml","outputDir":"out/gw",
+ *  "additionalProperties":{"packageName":"Acme.Features"}}
+ * {"id":"gw","status":"ok","files":42,"millis":311}
+ * {"command":"shutdown"}
+ * </pre>
+ */
+public final class YaverDaemon {
+    private static final Logger LOGGER = LoggerFactory.getLogger(YaverDaemon.class);
+    private static final TypeReference<Map<String, Object>> JOB_TYPE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private boolean shutdown;
+
+    private YaverDaemon() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Integer port = null;
+        for (int i = 0; i < args.length; i++) {
+            if ("--port".equals(args[i]) && i + 1 < args.length) {
+                port = Integer.valueOf(args[++i]);
+            } else {
+                System.err.println("Usage: YaverDaemon [--port <port>]");
+                System.exit(2);
+            }
+        }
+
+        YaverDaemon daemon = new YaverDaemon();
+        if (port == null) {
+            // Generator logging goes to stdout; keep it out of the job protocol.
+            PrintStream protocol = System.out;
+            System.setOut(System.err);
+            daemon.serve(new InputStreamReader(System.in, StandardCharsets.UTF_8),
+                    new OutputStreamWriter(protocol, StandardCharsets.UTF_8));
+        } else {
+            daemon.listen(port);
+        }
+    }
+
+    private void listen(int port) throws IOException {
+        try (ServerSocket server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+            LOGGER.info("Yaver daemon listening on {}:{}.", server.getInetAddress().getHostAddress(),
+                    server.getLocalPort());
+            while (!shutdown) {
+                try (Socket socket = server.accept()) {
+                    serve(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8),
+                            new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+                } catch (IOException e) {
+                    LOGGER.warn("Yaver daemon connection failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Reader input, Writer output) throws IOException {
+        BufferedReader reader = new BufferedReader(input);
+        PrintWriter writer = new PrintWriter(output, true);
+        String line;
+        while (!shutdown && (line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            writer.println(mapper.writeValueAsString(handle(line)));
+        }
+    }
+
+    private Map<String, Object> handle(String line) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        Map<String, Object> job;
+        try {
+            job = mapper.readValue(line, JOB_TYPE);
+        } catch (JsonProcessingException e) {
+            result.put("status", "failed");
+            result.put("error", "Invalid job: " + e.getOriginalMessage());
+            return result;
+        }
+        if (job == null) {
+            job = Map.of();
+        }
+
+        result.put("id", job.get("id"));
+        if ("shutdown".equals(job.get("command"))) {
+            shutdown = true;
+            result.put("status", "ok");
+            return result;
+        }
+
+        long started = System.nanoTime();
+        try {
+            List<File> files = generate(job);
+            result.put("status", "ok");
+            result.put("files", files.size());
+        } catch (RuntimeException e) {
+            LOGGER.error("Yaver daemon job {} failed.", job.get("id"), e);
+            result.put("status", "failed");
+            result.put("error", rootCauseMessage(e));
+        } finally {
+            GlobalSettings.reset();
+        }
+        result.put("millis", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        result.put("cachedTemplates", CompiledTemplates.size());
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<File> generate(Map<String, Object> job) {
+        String generator = requiredString(job, "generator");
+        CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName(generator)
+                .setInputSpec(requiredString(job, "inputSpec"))
+                .setOutputDir(requiredString(job, "outputDir"));
+
+        Object templateDir = job.get("templateDir");
+        if (templateDir != null) {
+            configurator.setTemplateDir(templateDir.toString());
+        }
+        Object additionalProperties = job.get("additionalProperties");
+        if (additionalProperties instanceof Map<?, ?> properties) {
+            configurator.setAdditionalProperties(new LinkedHashMap<>((Map<String, Object>) properties));
+        }
+
+        return new DefaultGenerator().opts(configurator.toClientOptInput()).generate();
+    }
+
+    /**
+     * Message of the innermost cause; DefaultGenerator wraps generator
+     * failures in "Could not generate ..." exceptions.
+     */
+    private static String rootCauseMessage(Throwable failure) {
+        Throwable cause = failure;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage() != null ? cause.getMessage() : cause.toString();
+    }
+
+    private static String requiredString(Map<String, Object> job, String key) {
+        Object value = job.get(key);
+        if (value == null || value.toString().isBlank()) {
+            throw new IllegalArgumentException("Job is missing '" + key + "'.");
+        }
+        return value.toString();
+    }
+}
@@ -22,6 +22,7 @@ import static org.openapitools.codegen.utils.StringUtils.camelize;
 import java.util.*;
 
 import org.openapitools.codegen.*;
+import org.openapitools.codegen.api.TemplatingEngineAdapter;
 import org.openapitools.codegen.languages.AbstractTypeScriptClientCodegen;
 import org.openapitools.codegen.meta.features.*;
 import org.openapitools.codegen.model.ModelMap;
@@ -30,7 +31,9 @@ import org.openapitools.codegen.model.OperationMap;
 import org.openapitools.codegen.model.OperationsMap;
 import org.openapitools.codegen.utils.ModelUtils;
 
+import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.servers.Server;
 
 /**
  * Custom TypeScript Fetch client generator for Yaver/Pairs projects.
@@ -56,6 +59,7 @@ public class YaverFetchClient extends AbstractTypeScriptClientCodegen {
     protected boolean useSingleRequestParameter = true;
     protected String typescriptVersion = "^5.9.0";
     protected boolean prefixParameterInterfaces = true;
+    protected boolean skipUnchangedFiles = true;
 
     public YaverFetchClient() {
         super();
@@ -90,6 +94,11 @@ public class YaverFetchClient extends AbstractTypeScriptClientCodegen {
         this.cliOptions.add(CliOption.newBoolean(PREFIX_PARAMETER_INTERFACES,
                 "Whether to prefix request parameter interfaces with the API class name.",
                 true));
+        this.cliOptions.add(CliOption.newBoolean(GeneratedOutput.SKIP_UNCHANGED_FILES,
+                GeneratedOutput.SKIP_UNCHANGED_FILES_DESC,
+                true));
+        this.cliOptions.add(new CliOption(GenerationProfile.YAVER_PROFILE,
+                GenerationProfile.YAVER_PROFILE_DESC));
     }
 
     @Override
@@ -136,6 +145,11 @@ public class YaverFetchClient extends AbstractTypeScriptClientCodegen {
         }
         writePropertyBack(PREFIX_PARAMETER_INTERFACES, prefixParameterInterfaces);
 
+        if (additionalProperties.containsKey(GeneratedOutput.SKIP_UNCHANGED_FILES)) {
+            this.skipUnchangedFiles = convertPropertyToBoolean(GeneratedOutput.SKIP_UNCHANGED_FILES);
+        }
+        writePropertyBack(GeneratedOutput.SKIP_UNCHANGED_FILES, skipUnchangedFiles);
+
         String srcDirectory = "";
         supportingFiles.add(new SupportingFile("runtime.mustache", "src", "runtime.ts"));
         supportingFiles.add(new SupportingFile("index.mustache", "src", INDEX_FILENAME));
@@ -148,6 +162,36 @@ public class YaverFetchClient extends AbstractTypeScriptClientCodegen {
         supportingFiles.add(new SupportingFile("gitignore", srcDirectory, ".gitignore"));
     }
 
+    /**
+     * The template engine is requested before {@link #processOpts()} runs, so
+     * the skip-unchanged switch is read straight from the additional properties.
+     */
+    @Override
+    public TemplatingEngineAdapter getTemplatingEngine() {
+        TemplatingEngineAdapter engine = super.getTemplatingEngine();
+        TemplatingEngineAdapter wrapped = YaverTemplatingEngine.wrap(this, engine, false);
+        if (wrapped != engine) {
+            setTemplatingEngine(wrapped);
+        }
+        return wrapped;
+    }
+
+    private GenerationProfile profile() {
+        return YaverTemplatingEngine.profile(super.getTemplatingEngine());
+    }
+
+    @Override
+    public boolean isEnableMinimalUpdate() {
+        // Unchanged files are handed back as they are; minimal update keeps them (and their mtime).
+        return super.isEnableMinimalUpdate() || GeneratedOutput.isSkipUnchangedRequested(additionalProperties);
+    }
+
+    @Override
+    public void postProcess() {
+        YaverTemplatingEngine.finish(super.getTemplatingEngine());
+        super.postProcess();
+    }
+
     @Override
     public boolean isDataTypeFile(final String dataType) {
         return "Blob".equals(dataType);
@@ -175,8 +219,23 @@ public class YaverFetchClient extends AbstractTypeScriptClientCodegen {
         parameter.dataType = applyLocalTypeMapping(parameter.dataType);
     }
 
+    @Override
+    public CodegenModel fromModel(String name, Schema model) {
+        GenerationProfile.Span span = profile().start(GenerationProfile.FROM_MODEL, name);
+        return span.end(super.fromModel(name, model));
+    }
+
+    @Override
+    public CodegenOperation fromOperation(String path, String httpMethod, Operation operation, List<Server> servers) {
+        GenerationProfile.Span span = profile().start(GenerationProfile.FROM_OPERATION,
+                operation.getOperationId() != null ? operation.getOperationId() : path);
+        return span.end(super.fromOperation(path, httpMethod, operation, servers));
+    }
+
     @Override
     public OperationsMap postProcessOperationsWithModels(OperationsMap operations, List<ModelMap> allModels) {
+        GenerationProfile.Span span = profile().start(GenerationProfile.POST_PROCESS_OPERATIONS,
+                GenerationProfile.subject(operations));
         OperationMap objs = operations.getOperations();
         List<CodegenOperation> ops = objs.getOperation();
 
@@ -186,7 +245,7 @@ public class YaverFetchClient extends AbstractTypeScriptClientCodegen {
         populateOperationMetadata(operations, ops);
         populateOperationImports(operations, ops);
 
-        return operations;
+        return span.end(operations);
     }
 
     private void populateOperationMetadata(OperationsMap operations, List<CodegenOperation> ops) {
@@ -243,12 +302,15 @@ public class YaverFetchClient extends AbstractTypeScriptClientCodegen {
 
     @Override
     public ModelsMap postProcessModels(ModelsMap objs) {
+        GenerationProfile.Span span = profile().start(GenerationProfile.POST_PROCESS_MODELS,
+                GenerationProfile.subject(objs));
         ModelsMap result = super.postProcessModels(objs);
-        return postProcessModelsEnum(result);
+        return span.end(postProcessModelsEnum(result));
     }
 
     @Override
     public Map<String, ModelsMap> postProcessAllModels(Map<String, ModelsMap> objs) {
+        GenerationProfile.Span span = profile().start(GenerationProfile.POST_PROCESS_ALL_MODELS, null);
         Map<String, ModelsMap> result = super.postProcessAllModels(objs);
         for (ModelsMap entry : result.values()) {
             for (ModelMap mo : entry.getModels()) {
@@ -268,7 +330,7 @@ public class YaverFetchClient extends AbstractTypeScriptClientCodegen {
                 mo.put("hasImports", !tsImportsList.isEmpty());
             }
         }
-        return result;
+        return span.end(result);
     }
 
     /**
@@ -0,0 +1,227 @@
+package dev.yaver.codegen;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openapitools.codegen.ClientOptInput;
+import org.openapitools.codegen.CodegenConfig;
+import org.openapitools.codegen.CodegenConfigLoader;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.config.GeneratorSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Json31;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+
+/**
+ * Runs several Yaver generators from one parsed spec in a single process.
+ *
+ * <p>The spec is parsed and resolved once and serialized to JSON; every
+ * target then gets its own deep copy of the document and its own generator
+ * instance, and the targets run concurrently. Each generator normalizes and
+ * flattens its copy with its own inline schema options, so the copies are
+ * never shared. Each target writes
+ * to {@code <output>/<generator>}.</p>
+ *
+ * <pre>
+ * java -cp yaver-codegen.jar:openapi-generator-cli.jar dev.yaver.codegen.YaverMultiGenerate \
+ *     -i openapi.yaml -o out [-g yaver-cs-gateway,yaver-proxy] [-p key=value[,generator:key=value]] \
+ *     [--threads n] [--skip-validate-spec]
+ * </pre>
+ */
+public final class YaverMultiGenerate {
+    private static final Logger LOGGER = LoggerFactory.getLogger(YaverMultiGenerate.class);
+    private static final List<String> DEFAULT_GENERATORS = List.of(
+            "yaver-cs-gateway",
+            "yaver-proxy",
+            "yaver-cs-fastendpoints",
+            "yaver-fetch-client",
+            "yaver-ts-angular");
+
+    private YaverMultiGenerate() {
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+
+    static int run(String[] args) {
+        String inputSpec = null;
+        String outputDir = null;
+        List<String> generators = DEFAULT_GENERATORS;
+        List<String> properties = new ArrayList<>();
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean validateSpec = true;
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (("-i".equals(arg) || "--input-spec".equals(arg)) && i + 1 < args.length) {
+                inputSpec = args[++i];
+            } else if (("-o".equals(arg) || "--output".equals(arg)) && i + 1 < args.length) {
+                outputDir = args[++i];
+            } else if (("-g".equals(arg) || "--generator-names".equals(arg)) && i + 1 < args.length) {
+                generators = List.of(args[++i].split(","));
+            } else if (("-p".equals(arg) || "--additional-properties".equals(arg)) && i + 1 < args.length) {
+                properties.addAll(List.of(args[++i].split(",")));
+            } else if ("--threads".equals(arg) && i + 1 < args.length) {
+                threads = Integer.parseInt(args[++i]);
+            } else if ("--skip-validate-spec".equals(arg)) {
+                validateSpec = false;
+            } else {
+                return usage("Unknown or incomplete argument: " + arg);
+            }
+        }
+        if (inputSpec == null || outputDir == null) {
+            return usage("Missing -i <spec> or -o <output>.");
+        }
+
+        long started = System.nanoTime();
+        SpecSnapshot spec;
+        try {
+            spec = SpecSnapshot.parse(inputSpec, validateSpec);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            return 1;
+        }
+        LOGGER.info("Parsed {} once in {} ms for {} generators.", inputSpec,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), generators.size());
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, generators.size())));
+        Map<String, Future<List<File>>> targets = new LinkedHashMap<>();
+        String specLocation = inputSpec;
+        for (String generator : generators) {
+            Map<String, Object> additionalProperties = additionalProperties(generator, properties);
+            File targetDir = new File(outputDir, generator);
+            targets.put(generator, executor.submit(() -> generate(generator, spec, specLocation, targetDir,
+                    additionalProperties)));
+        }
+        executor.shutdown();
+
+        int failures = 0;
+        for (Map.Entry<String, Future<List<File>>> target : targets.entrySet()) {
+            try {
+                LOGGER.info("{}: {} files generated.", target.getKey(), target.getValue().get().size());
+            } catch (ExecutionException e) {
+                failures++;
+                LOGGER.error("{}: generation failed.", target.getKey(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return 1;
+            }
+        }
+
+        LOGGER.info("Generated {} of {} targets in {} ms.", targets.size() - failures, targets.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return failures == 0 ? 0 : 1;
+    }
+
+    private static List<File> generate(String generator, SpecSnapshot spec, String inputSpec, File outputDir,
+            Map<String, Object> additionalProperties) {
+        // The settings add the CLI defaults (gitHost, releaseNote, ...) to the additional properties.
+        GeneratorSettings settings = GeneratorSettings.newBuilder()
+                .withGeneratorName(generator)
+                .withAdditionalProperties(additionalProperties)
+                .build();
+        CodegenConfig config = CodegenConfigLoader.forName(generator);
+        config.setInputSpec(inputSpec);
+        config.setOutputDir(outputDir.getAbsolutePath());
+        config.additionalProperties().putAll(settings.getAdditionalProperties());
+
+        ClientOptInput input = new ClientOptInput()
+                .config(config)
+                .generatorSettings(settings)
+                .openAPI(spec.copy());
+        return new DefaultGenerator().opts(input).generate();
+    }
+
+    /**
+     * Applies {@code key=value} to every target and
+     * {@code generator:key=value} to that generator only.
+     */
+    private static Map<String, Object> additionalProperties(String generator, List<String> properties) {
+        Map<String, Object> additionalProperties = new LinkedHashMap<>();
+        for (String property : properties) {
+            int separator = property.indexOf('=');
+            if (separator <= 0) {
+                continue;
+            }
+            String key = property.substring(0, separator).trim();
+            int scope = key.indexOf(':');
+            if (scope > 0) {
+                if (!generator.equals(key.substring(0, scope))) {
+                    continue;
+                }
+                key = key.substring(scope + 1);
+            }
+            additionalProperties.put(key, property.substring(separator + 1).trim());
+        }
+        return additionalProperties;
+    }
+
+    private static int usage(String message) {
+        System.err.println(message);
+        System.err.println("Usage: YaverMultiGenerate -i <spec> -o <output> [-g generator[,generator]]"
+                + " [-p key=value[,generator:key=value]] [--threads n] [--skip-validate-spec]");
+        return 2;
+    }
+
+    /**
+     * The resolved spec, kept as JSON so every target can
+     * deserialize its own copy without parsing or resolving again.
+     */
+    private static final class SpecSnapshot {
+        private final String json;
+        private final ObjectMapper mapper;
+
+        private SpecSnapshot(String json, ObjectMapper mapper) {
+            this.json = json;
+            this.mapper = mapper;
+        }
+
+        static SpecSnapshot parse(String inputSpec, boolean validateSpec) {
+            ParseOptions options = new ParseOptions();
+            options.setResolve(true);
+            options.setResolveResponses(true);
+            SwaggerParseResult result = new OpenAPIParser().readLocation(inputSpec, null, options);
+            OpenAPI openAPI = result.getOpenAPI();
+            List<String> messages = result.getMessages() == null ? List.of() : result.getMessages();
+            if (openAPI == null || (validateSpec && !messages.isEmpty())) {
+                throw new IllegalArgumentException("There were issues with the specification " + inputSpec
+                        + ". Use --skip-validate-spec to skip validation. " + messages);
+            }
+
+            ObjectMapper mapper = openAPI.getOpenapi() != null && openAPI.getOpenapi().startsWith("3.1")
+                    ? Json31.mapper()
+                    : Json.mapper();
+            try {
+                return new SpecSnapshot(mapper.writeValueAsString(openAPI), mapper);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Could not serialize the parsed specification " + inputSpec, e);
+            }
+        }
+
+        OpenAPI copy() {
+            try {
+                return mapper.readValue(json, OpenAPI.class);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not copy the parsed specification.", e);
+            }
+        }
+    }
+}
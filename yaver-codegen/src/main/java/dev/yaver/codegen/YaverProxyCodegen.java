@@ -43,6 +43,7 @@ import org.openapitools.codegen.CodegenProperty;
 import org.openapitools.codegen.CodegenResponse;
 import org.openapitools.codegen.CodegenType;
 import org.openapitools.codegen.SupportingFile;
+import org.openapitools.codegen.api.TemplatingEngineAdapter;
 import org.openapitools.codegen.languages.AbstractCSharpCodegen;
 import org.openapitools.codegen.meta.features.ClientModificationFeature;
 import org.openapitools.codegen.meta.features.DocumentationFeature;
@@ -92,6 +93,7 @@ public class YaverProxyCodegen extends AbstractCSharpCodegen {
     protected static final String FASTENDPOINTS_VERSION = "fastEndpointsVersion";
     protected static final String RIOK_MAPPERLY_VERSION = "riokMapperlyVersion";
     protected static final String YAVER_RESULT_VERSION = "yaverResultVersion";
+    protected static final String TRUST_PRE_VALIDATED_COMMANDS = "trustPreValidatedCommands";
 
     @SuppressWarnings("hiding")
     private final Logger LOGGER = LoggerFactory.getLogger(YaverProxyCodegen.class);
@@ -136,6 +138,16 @@ public class YaverProxyCodegen extends AbstractCSharpCodegen {
     protected String fastEndpointsVersion = "8.2.0";
     protected String riokMapperlyVersion = "4.3.0";
     protected String yaverResultVersion = "2.3.1";
+    protected boolean skipUnchangedFiles = true;
+    protected boolean parallelRendering = false;
+    protected boolean pooledFileBuffers = false;
+    protected boolean trustPreValidatedCommands = false;
+    private ResponseContractValidator responseContractValidator;
+    private ResponseContractReport responseContractReport;
+    private FileUploadMapping fileUploadMapping;
+    private Map<String, List<CodegenOperation>> operationsByTag;
+    private final PropertyReconciliation propertyReconciliation = new PropertyReconciliation();
+    private final ParentModelCache parentModels = new ParentModelCache();
 
     public YaverProxyCodegen() {
         super();
@@ -347,16 +359,49 @@ public class YaverProxyCodegen extends AbstractCSharpCodegen {
         addSwitch("useSourceGeneration",
                 "Use source generation where available (only `generichost` library supports this option).",
                 this.getUseSourceGeneration());
+
+        addSwitch(GeneratedOutput.SKIP_UNCHANGED_FILES,
+                GeneratedOutput.SKIP_UNCHANGED_FILES_DESC,
+                this.skipUnchangedFiles);
+
+        addSwitch(ParallelRendering.PARALLEL_RENDERING,
+                ParallelRendering.PARALLEL_RENDERING_DESC,
+                this.parallelRendering);
+
+        addOption(GenerationProfile.YAVER_PROFILE,
+                GenerationProfile.YAVER_PROFILE_DESC,
+                null);
+
+        addOption(ResponseContractReport.RESPONSE_CONTRACT_VALIDATION,
+                ResponseContractReport.RESPONSE_CONTRACT_VALIDATION_DESC,
+                ResponseContractReport.FAIL_FAST);
+
+        addOption(ResponseContractReport.RESPONSE_CONTRACT_REPORT,
+                ResponseContractReport.RESPONSE_CONTRACT_REPORT_DESC,
+                null);
+
+        addSwitch(FileUploadMapping.POOLED_FILE_BUFFERS,
+                FileUploadMapping.POOLED_FILE_BUFFERS_DESC,
+                this.pooledFileBuffers);
+
+        addSwitch(TRUST_PRE_VALIDATED_COMMANDS,
+                "When true, commands with a body carry the PreValidated flag set by a yaver-cs-gateway with "
+                        + "edgeValidationOnly, and command validators skip commands that have it. The flag is set "
+                        + "by the sender and not authenticated: only enable it when no caller but the gateway can "
+                        + "reach the service transport.",
+                this.trustPreValidatedCommands);
     }
 
     @Override
     public CodegenModel fromModel(String name, Schema model) {
+        GenerationProfile.Span span = profile().start(GenerationProfile.FROM_MODEL, name);
         Map<String, Schema> allDefinitions = ModelUtils.getSchemas(this.openAPI);
         CodegenModel codegenModel = super.fromModel(name, model);
         if (allDefinitions != null && codegenModel != null && codegenModel.parent != null) {
             final Schema parentModel = allDefinitions.get(toModelName(codegenModel.parent));
             if (parentModel != null) {
-                final CodegenModel parentCodegenModel = super.fromModel(codegenModel.parent, parentModel);
+                final CodegenModel parentCodegenModel = parentModels.get(codegenModel.parent, parentModel,
+                        super::fromModel);
                 if (codegenModel.hasEnums) {
                     codegenModel = this.reconcileInlineEnums(codegenModel, parentCodegenModel);
                 }
@@ -389,71 +434,22 @@ public class YaverProxyCodegen extends AbstractCSharpCodegen {
 
         // Cleanup possible duplicates. Currently, readWriteVars can contain the same
         // property twice. May or may not be isolated to C#.
-        if (codegenModel != null && codegenModel.readWriteVars != null && codegenModel.readWriteVars.size() > 1) {
-            int length = codegenModel.readWriteVars.size() - 1;
-            for (int i = length; i > (length / 2); i--) {
-                final CodegenProperty codegenProperty = codegenModel.readWriteVars.get(i);
-                // If the property at current index is found earlier in the list, remove this
-                // last instance.
-                if (codegenModel.readWriteVars.indexOf(codegenProperty) < i) {
-                    codegenModel.readWriteVars.remove(i);
-                }
-            }
+        if (codegenModel != null) {
+            PropertyReconciliation.removeLaterDuplicates(codegenModel.readWriteVars);
         }
 
-        Collections.sort(codegenModel.vars, propertyComparatorByName);
-        Collections.sort(codegenModel.allVars, propertyComparatorByName);
-        Collections.sort(codegenModel.requiredVars, propertyComparatorByName);
-        Collections.sort(codegenModel.optionalVars, propertyComparatorByName);
-        Collections.sort(codegenModel.readOnlyVars, propertyComparatorByName);
-        Collections.sort(codegenModel.readWriteVars, propertyComparatorByName);
-        Collections.sort(codegenModel.parentVars, propertyComparatorByName);
-
-        Comparator<CodegenProperty> comparator = propertyComparatorByNullable
-                .thenComparing(propertyComparatorByDefaultValue);
-        Collections.sort(codegenModel.vars, comparator);
-        Collections.sort(codegenModel.allVars, comparator);
-        Collections.sort(codegenModel.requiredVars, comparator);
-        Collections.sort(codegenModel.optionalVars, comparator);
-        Collections.sort(codegenModel.readOnlyVars, comparator);
-        Collections.sort(codegenModel.readWriteVars, comparator);
-        Collections.sort(codegenModel.parentVars, comparator);
+        PropertyOrder.sort(codegenModel.vars);
+        PropertyOrder.sort(codegenModel.allVars);
+        PropertyOrder.sort(codegenModel.requiredVars);
+        PropertyOrder.sort(codegenModel.optionalVars);
+        PropertyOrder.sort(codegenModel.readOnlyVars);
+        PropertyOrder.sort(codegenModel.readWriteVars);
+        PropertyOrder.sort(codegenModel.parentVars);
         // }
 
-        return codegenModel;
+        return span.end(codegenModel);
     }
 
-    public static Comparator<CodegenProperty> propertyComparatorByName = new Comparator<CodegenProperty>() {
-        @Override
-        public int compare(CodegenProperty one, CodegenProperty another) {
-            return one.name.compareTo(another.name);
-        }
-    };
-
-    public static Comparator<CodegenProperty> propertyComparatorByDefaultValue = new Comparator<CodegenProperty>() {
-        @Override
-        public int compare(CodegenProperty one, CodegenProperty another) {
-            if ((one.defaultValue == null) == (another.defaultValue == null))
-                return 0;
-            else if (one.defaultValue == null)
-                return -1;
-            else
-                return 1;
-        }
-    };
-
-    public static Comparator<CodegenProperty> propertyComparatorByNullable = new Comparator<CodegenProperty>() {
-        @Override
-        public int compare(CodegenProperty one, CodegenProperty another) {
-            if (one.isNullable == another.isNullable)
-                return 0;
-            else if (Boolean.FALSE.equals(one.isNullable))
-                return -1;
-            else
-                return 1;
-        }
-    };
-
     public static Comparator<CodegenParameter> parameterComparatorByDataType = new Comparator<CodegenParameter>() {
         @Override
         public int compare(CodegenParameter one, CodegenParameter another) {
@@ -682,6 +678,17 @@ public class YaverProxyCodegen extends AbstractCSharpCodegen {
                 this.supportsFileParameters);
         syncBooleanProperty(additionalProperties, "useSourceGeneration", this::setUseSourceGeneration,
                 this.useSourceGeneration);
+        syncBooleanProperty(additionalProperties, GeneratedOutput.SKIP_UNCHANGED_FILES,
+                value -> this.skipUnchangedFiles = value, this.skipUnchangedFiles);
+        syncBooleanProperty(additionalProperties, ParallelRendering.PARALLEL_RENDERING,
+                value -> this.parallelRendering = value, this.parallelRendering);
+        this.responseContractReport = ResponseContractReport.fromOptions(getName(), getInputSpec(), outputFolder(),
+                additionalProperties);
+        syncBooleanProperty(additionalProperties, FileUploadMapping.POOLED_FILE_BUFFERS,
+                value -> this.pooledFileBuffers = value, this.pooledFileBuffers);
+        this.fileUploadMapping = FileUploadMapping.bufferedFromOptions(additionalProperties);
+        syncBooleanProperty(additionalProperties, TRUST_PRE_VALIDATED_COMMANDS,
+                value -> this.trustPreValidatedCommands = value, this.trustPreValidatedCommands);
 
         String packageFolder = sourceFolder + File.separator + packageName;
 
@@ -708,6 +715,44 @@ public class YaverProxyCodegen extends AbstractCSharpCodegen {
         this.setTypeMapping();
     }
 
+    /**
+     * The template engine is requested before {@link #processOpts()} runs, so
+     * the skip-unchanged and parallel-rendering switches are read straight from
+     * the additional properties.
+     */
+    @Override
+    public TemplatingEngineAdapter getTemplatingEngine() {
+        TemplatingEngineAdapter engine = super.getTemplatingEngine();
+        TemplatingEngineAdapter wrapped = YaverTemplatingEngine.wrap(this, engine, false);
+        if (wrapped != engine) {
+            setTemplatingEngine(wrapped);
+        }
+        return wrapped;
+    }
+
+    private GenerationProfile profile() {
+        return YaverTemplatingEngine.profile(super.getTemplatingEngine());
+    }
+
+    @Override
+    public boolean isEnableMinimalUpdate() {
+        // Unchanged files are handed back as they are; minimal update keeps them (and their mtime).
+        return super.isEnableMinimalUpdate() || GeneratedOutput.isSkipUnchangedRequested(additionalProperties);
+    }
+
+    @Override
+    public void postProcess() {
+        YaverTemplatingEngine.finish(super.getTemplatingEngine());
+        super.postProcess();
+    }
+
+    /**
+     * Collect-all report of this run, {@code null} in fail-fast mode.
+     */
+    ResponseContractReport responseContractReport() {
+        return responseContractReport;
+    }
+
     @Override
     public void setUseSourceGeneration(final Boolean useSourceGeneration) {
         if (useSourceGeneration && !this.additionalProperties.containsKey(NET_80_OR_LATER)) {
@@ -725,6 +770,8 @@ public class YaverProxyCodegen extends AbstractCSharpCodegen {
             String httpMethod,
             Operation operation,
             List<Server> servers) {
+        GenerationProfile.Span span = profile().start(GenerationProfile.FROM_OPERATION,
+                operation.getOperationId() != null ? operation.getOperationId() : path);
         CodegenOperation op = super.fromOperation(path, httpMethod, operation, servers);
 
         Collections.sort(op.allParams, parameterComparatorByDataType);
@@ -753,7 +800,7 @@ public class YaverProxyCodegen extends AbstractCSharpCodegen {
         Collections.sort(op.optionalParams, comparator);
         Collections.sort(op.notNullableParams, comparator);
 
-        return op;
+        return span.end(op);
     }
 
     public void setNetStandard(Boolean netStandard) {
@@ -1146,7 +1193,7 @@ public class YaverProxyCodegen extends AbstractCSharpCodegen {
         // }
         // } else {
         if (model.parentModel != null
-                && model.parentModel.allVars.stream().anyMatch(v -> v.baseName.equals(property.baseName))) {
+                && propertyReconciliation.containsBaseName(model.parentModel.allVars, property.baseName)) {
             property.isInherited = true;
         }
         // }
@@ -1161,8 +1208,18 @@ public class YaverProxyCodegen extends AbstractCSharpCodegen {
         // }
     }
 
+    @Override
+    public Map<String, ModelsMap> postProcessAllModels(Map<String, ModelsMap> objs) {
+        GenerationProfile.Span span = profile().start(GenerationProfile.POST_PROCESS_ALL_MODELS, null);
+        Map<String, ModelsMap> result = super.postProcessAllModels(objs);
+        YaverTemplatingEngine.prepareModels(super.getTemplatingEngine(), result.values());
+        return span.end(result);
+    }
+
     @Override
     public ModelsMap postProcessModels(ModelsMap objs) {
+        GenerationProfile.Span span = profile().start(GenerationProfile.POST_PROCESS_MODELS,
+                GenerationProfile.subject(objs));
         objs = super.postProcessModels(objs);
 
         // add implements for serializable/parcelable to all models
@@ -1191,22 +1248,18 @@ public class YaverProxyCodegen extends AbstractCSharpCodegen {
                 cm.getComposedSchemas().getAnyOf().removeIf(o -> o.dataType.equals("Null"));
             }
 
-            for (CodegenProperty cp : cm.readWriteVars) {
-                // ISSUE: https://github.com/OpenAPITools/openapi-generator/issues/11844
-                // allVars may not have all properties
-                // see modules\openapi-generator\src\test\resources\3_0\allOf.yaml
-                // property boosterSeat will be in readWriteVars but not allVars
-                // the property is present in the model but gets removed at
-                // CodegenModel#removeDuplicatedProperty
-                if (Boolean.FALSE.equals(cm.allVars.stream().anyMatch(v -> v.baseName.equals(cp.baseName)))) {
-                    LOGGER.debug("Property " + cp.baseName
-                            + " was found in readWriteVars but not in allVars. Adding it back to allVars");
-                    cm.allVars.add(cp);
-                }
-            }
+            // ISSUE: https://github.com/OpenAPITools/openapi-generator/issues/11844
+            // allVars may not have all properties
+            // see modules\openapi-generator\src\test\resources\3_0\allOf.yaml
+            // property boosterSeat will be in readWriteVars but not allVars
+            // the property is present in the model but gets removed at
+            // CodegenModel#removeDuplicatedProperty
+            propertyReconciliation.addMissingByBaseName(cm.allVars, cm.readWriteVars,
+                    cp -> LOGGER.debug("Property " + cp.baseName
+                            + " was found in readWriteVars but not in allVars. Adding it back to allVars"));
         }
 
-        return objs;
+        return span.end(objs);
     }
 
     // https://github.com/OpenAPITools/openapi-generator/issues/15867
@@ -1320,13 +1373,21 @@ public class YaverProxyCodegen extends AbstractCSharpCodegen {
 
     @Override
     public OperationsMap postProcessOperationsWithModels(OperationsMap objs, List<ModelMap> allModels) {
+        GenerationProfile.Span span = profile().start(GenerationProfile.POST_PROCESS_OPERATIONS,
+                GenerationProfile.subject(objs));
         OperationMap operations = objs.getOperations();
         List<CodegenOperation> operationList = operations.getOperation();
+        ResponseContractValidator validator = responseContractValidator(allModels);
+        boolean hasFileParams = false;
 
         for (CodegenOperation op : operationList) {
+            hasFileParams |= fileUploadMapping.apply(op);
 
-            CodegenResponse successResponse = ResponseContractValidator.requireSingleSuccessResponse(op, allModels);
-            ResponseContractValidator.requireProblemDetailsErrors(op, allModels);
+            GenerationProfile.Span contractSpan = profile().start(GenerationProfile.RESPONSE_CONTRACT,
+                    op.operationId);
+            CodegenResponse successResponse = validator.requireSingleSuccessResponse(op);
+            validator.requireProblemDetailsErrors(op);
+            contractSpan.end();
 
             if (successResponse != null) {
                 op.vendorExtensions.put("hasSuccessResponse", true);
@@ -1341,9 +1402,7 @@ public class YaverProxyCodegen extends AbstractCSharpCodegen {
                     op.vendorExtensions.put("isObjectResponse", false);
                     op.vendorExtensions.put("successResponseModel", responseModel);
                 } else if (!successResponseBodyless) {
-                    throw new IllegalArgumentException(
-                            "Operation '" + op.operationId
-                                    + "' declares a success response body without a resolvable schema type.");
+                    validator.requireResolvableSuccessType(op, successResponse);
                 }
 
                 // Add response message if exists
@@ -1372,8 +1431,37 @@ public class YaverProxyCodegen extends AbstractCSharpCodegen {
                 op.vendorExtensions.put("hasSuccessResponse", false);
             }
         }
+        // The mappers of a tag only need the async usings for its ToCommandAsync mappers.
+        objs.put(FileUploadMapping.HAS_FILE_PARAMS_EXTENSION, hasFileParams);
 
-        return super.postProcessOperationsWithModels(objs, allModels);
+        return span.end(super.postProcessOperationsWithModels(objs, allModels));
+    }
+
+    @Override
+    public void addOperationToGroup(String tag, String resourcePath, Operation operation, CodegenOperation co,
+            Map<String, List<CodegenOperation>> operations) {
+        super.addOperationToGroup(tag, resourcePath, operation, co, operations);
+        this.operationsByTag = operations;
+    }
+
+    /**
+     * Builds the response contract validator once per run; the generator
+     * hands the same model list to every tag. In collect-all mode every
+     * operation is validated up front and the report is written before the
+     * first tag is post-processed.
+     */
+    private ResponseContractValidator responseContractValidator(List<ModelMap> allModels) {
+        ResponseContractValidator validator = this.responseContractValidator;
+        if (validator == null || !validator.isFor(allModels)) {
+            validator = ResponseContractValidator.forModels(allModels);
+            this.responseContractValidator = validator;
+            if (responseContractReport != null && operationsByTag != null) {
+                GenerationProfile.Span span = profile().start(GenerationProfile.RESPONSE_CONTRACT, null);
+                responseContractReport.complete(validator.validateAll(operationsByTag));
+                span.end();
+            }
+        }
+        return validator;
     }
 
 }
@@ -0,0 +1,277 @@
+package dev.yaver.codegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.openapitools.codegen.CodegenConfig;
+import org.openapitools.codegen.CodegenOperation;
+import org.openapitools.codegen.SupportingFile;
+import org.openapitools.codegen.api.TemplatingEngineAdapter;
+import org.openapitools.codegen.api.TemplatingExecutor;
+import org.openapitools.codegen.model.ModelMap;
+import org.openapitools.codegen.model.ModelsMap;
+import org.openapitools.codegen.model.OperationsMap;
+import org.openapitools.codegen.templating.MustacheEngineAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Mustache engine used by the Yaver generators.
+ *
+ * <p>The generator pipeline hands every template bundle to the engine right
+ * before the file is written, after all post-processing hooks ran, which
+ * makes the engine the output stage of the generators: each rendered file is
+ * resolved to its target path and counted by {@link GeneratedOutput}. When
+ * incremental generation is enabled, api and model files whose bundle
+ * fingerprint matches the manifest are served from disk instead of being
+ * rendered; the minimal-update writer then leaves them untouched. Embedded
+ * templates are compiled once per JVM through {@link CompiledTemplates}, and
+ * {@link ParallelRendering} optionally renders independent files ahead on a
+ * bounded pool. The engine also carries the run's {@link GenerationProfile},
+ * which times every render and is reported when the run finishes.</p>
+ */
+final class YaverTemplatingEngine extends MustacheEngineAdapter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(YaverTemplatingEngine.class);
+
+    private final CodegenConfig config;
+    private final GeneratedOutput output;
+    private final IncrementalGeneration incremental;
+    private final ParallelRendering parallel;
+    private final GenerationProfile profile;
+    private final Map<Object, String> bundleFingerprints = Collections.synchronizedMap(new IdentityHashMap<>());
+    private volatile List<ModelsMap> modelBundles;
+
+    YaverTemplatingEngine(CodegenConfig config, GeneratedOutput output, IncrementalGeneration incremental,
+            ParallelRendering parallel, GenerationProfile profile) {
+        this.config = config;
+        this.output = output;
+        this.incremental = incremental;
+        this.parallel = parallel;
+        this.profile = profile;
+    }
+
+    /**
+     * Replaces the stock Mustache engine of a Yaver generator. Other engines
+     * (for example handlebars) are returned unchanged.
+     */
+    static TemplatingEngineAdapter wrap(CodegenConfig config, TemplatingEngineAdapter engine, boolean incremental) {
+        if (engine == null || !engine.getClass().equals(MustacheEngineAdapter.class)) {
+            return engine;
+        }
+
+        GeneratedOutput output = new GeneratedOutput(config.getName(),
+                GeneratedOutput.isSkipUnchangedRequested(config.additionalProperties()));
+        // Incremental runs skip rendering unchanged files, so rendering them ahead would be wasted.
+        ParallelRendering parallel = !incremental && ParallelRendering.isRequested(config.additionalProperties())
+                ? new ParallelRendering(Runtime.getRuntime().availableProcessors())
+                : null;
+        return new YaverTemplatingEngine(config, output,
+                incremental ? IncrementalGeneration.load(config) : null, parallel,
+                GenerationProfile.fromOptions(config.getName(), config.additionalProperties()));
+    }
+
+    /**
+     * Returns the generation profile of the run, or
+     * {@link GenerationProfile#DISABLED} when the generator is not driven
+     * through the Yaver engine.
+     */
+    static GenerationProfile profile(TemplatingEngineAdapter engine) {
+        return engine instanceof YaverTemplatingEngine yaverEngine ? yaverEngine.profile : GenerationProfile.DISABLED;
+    }
+
+    /**
+     * Hands the post-processed model bundles to the engine, so that with
+     * parallel rendering all model files are rendered ahead once the first
+     * one is requested.
+     */
+    static void prepareModels(TemplatingEngineAdapter engine, Collection<ModelsMap> bundles) {
+        if (engine instanceof YaverTemplatingEngine yaverEngine && yaverEngine.parallel != null) {
+            yaverEngine.modelBundles = bundles.stream()
+                    .filter(bundle -> !isAliasBundle(bundle))
+                    .toList();
+        }
+    }
+
+    /**
+     * Persists the incremental manifest and reports the output counts once
+     * all files were written.
+     */
+    static void finish(TemplatingEngineAdapter engine) {
+        if (engine instanceof YaverTemplatingEngine yaverEngine) {
+            yaverEngine.finish();
+        }
+    }
+
+    GeneratedOutput getOutput() {
+        return output;
+    }
+
+    IncrementalGeneration getIncrementalGeneration() {
+        return incremental;
+    }
+
+    @Override
+    public String compileTemplate(TemplatingExecutor executor, Map<String, Object> bundle, String templateFile)
+            throws IOException {
+        File target = resolveTarget(bundle, templateFile);
+        if (target == null) {
+            return renderTemplate(executor, bundle, templateFile);
+        }
+
+        String fingerprint = incrementalFingerprint(bundle, templateFile);
+        if (fingerprint != null) {
+            String unchanged = incremental.readUnchanged(target, fingerprint);
+            if (unchanged != null) {
+                output.recordUnchanged();
+                return unchanged;
+            }
+        }
+
+        output.record(target);
+        String content = renderTemplate(executor, bundle, templateFile);
+        if (fingerprint != null) {
+            incremental.record(target, fingerprint, content);
+        }
+        return content;
+    }
+
+    /**
+     * The incremental fingerprint of an api or model file, or {@code null}
+     * when the file is always rendered.
+     */
+    private String incrementalFingerprint(Map<String, Object> bundle, String templateFile) {
+        if (incremental == null || !isPerBundleTemplate(bundle, templateFile)) {
+            return null;
+        }
+
+        String bundleFingerprint = bundleFingerprints.computeIfAbsent(bundle,
+                key -> GenerationFingerprint.of(bundle, IncrementalGeneration.VOLATILE_BUNDLE_KEYS));
+        return bundleFingerprint == null ? null : incremental.fingerprint(templateFile, bundleFingerprint);
+    }
+
+    private String renderTemplate(TemplatingExecutor executor, Map<String, Object> bundle, String templateFile)
+            throws IOException {
+        if (parallel == null) {
+            return renderSequential(executor, bundle, bundle, templateFile);
+        }
+
+        ParallelRendering.Renderer renderer = (source, context, template) ->
+                renderSequential(executor, source, context, template);
+        if (bundle instanceof OperationsMap && config.apiTemplateFiles().containsKey(templateFile)) {
+            parallel.renderAhead(bundle, config.apiTemplateFiles().keySet(), templateFile, renderer);
+        } else if (bundle instanceof ModelsMap && config.modelTemplateFiles().containsKey(templateFile)) {
+            List<ModelsMap> models = modelBundles;
+            if (models != null) {
+                modelBundles = null;
+                for (ModelsMap model : models) {
+                    parallel.renderAhead(model, config.modelTemplateFiles().keySet(),
+                            model == bundle ? templateFile : null, renderer);
+                }
+            }
+        }
+        return parallel.take(bundle, templateFile, renderer);
+    }
+
+    private String renderSequential(TemplatingExecutor executor, Map<String, Object> bundle,
+            Map<String, Object> context, String templateFile) throws IOException {
+        GenerationProfile.Span span = profile.start(GenerationProfile.RENDER, renderSubject(bundle, templateFile));
+        if (!CompiledTemplates.isCacheable(config)) {
+            return span.end(super.compileTemplate(executor, context, templateFile));
+        }
+        return span.end(CompiledTemplates.get(config, getCompiler(), executor, templateFile).execute(context));
+    }
+
+    private String renderSubject(Map<String, Object> bundle, String templateFile) {
+        if (!profile.isEnabled()) {
+            return null;
+        }
+        File target = resolveTarget(bundle, templateFile);
+        return target != null ? target.getName() : templateFile;
+    }
+
+    private void finish() {
+        if (parallel != null) {
+            parallel.close();
+        }
+        if (incremental != null) {
+            incremental.save();
+            LOGGER.info("Incremental generation reused {} of {} api/model files.",
+                    incremental.reusedCount(), incremental.trackedCount());
+        }
+        output.report();
+        profile.report();
+    }
+
+    private boolean isPerBundleTemplate(Map<String, Object> bundle, String templateFile) {
+        return (bundle instanceof OperationsMap && config.apiTemplateFiles().containsKey(templateFile))
+                || (bundle instanceof ModelsMap && config.modelTemplateFiles().containsKey(templateFile));
+    }
+
+    /**
+     * Resolves the file a bundle renders to, using the same naming hooks as
+     * the generator pipeline: per-tag api files, per-model files and
+     * supporting files with a unique template.
+     */
+    private File resolveTarget(Map<String, Object> bundle, String templateFile) {
+        if (bundle instanceof OperationsMap operations && config.apiTemplateFiles().containsKey(templateFile)) {
+            String tag = apiTag(operations);
+            return tag == null ? null : new File(config.apiFilename(templateFile, tag));
+        }
+
+        if (bundle instanceof ModelsMap models && config.modelTemplateFiles().containsKey(templateFile)) {
+            List<ModelMap> modelMaps = models.getModels();
+            if (modelMaps == null || modelMaps.size() != 1 || modelMaps.get(0).getModel() == null) {
+                return null;
+            }
+            return new File(config.modelFilename(templateFile, modelMaps.get(0).getModel().name));
+        }
+
+        List<SupportingFile> supportingFiles = config.supportingFiles().stream()
+                .filter(file -> templateFile.equals(file.getTemplateFile()))
+                .toList();
+        if (supportingFiles.size() != 1) {
+            return null;
+        }
+
+        SupportingFile supportingFile = supportingFiles.get(0);
+        if (new File(supportingFile.getDestinationFilename()).isAbsolute()) {
+            return new File(supportingFile.getDestinationFilename());
+        }
+
+        String folder = config.outputFolder();
+        if (StringUtils.isNotEmpty(supportingFile.getFolder())) {
+            folder += File.separator + supportingFile.getFolder();
+        }
+        return new File(folder + File.separator
+                + supportingFile.getDestinationFilename().replace('/', File.separatorChar));
+    }
+
+    private static boolean isAliasBundle(ModelsMap bundle) {
+        List<ModelMap> models = bundle.getModels();
+        return models == null || models.isEmpty() || models.get(0).getModel() == null
+                || models.get(0).getModel().isAlias;
+    }
+
+    private static String apiTag(OperationsMap operations) {
+        Object baseName = operations.get("baseName");
+        if (baseName instanceof String tag && !tag.isEmpty()) {
+            return tag;
+        }
+
+        if (operations.getOperations() == null || operations.getOperations().getOperation() == null) {
+            return null;
+        }
+
+        return operations.getOperations().getOperation().stream()
+                .map((CodegenOperation operation) -> operation.baseName)
+                .filter(name -> name != null && !name.isEmpty())
+                .findFirst()
+                .orElse(null);
+    }
+}
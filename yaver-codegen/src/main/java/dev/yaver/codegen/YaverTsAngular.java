@@ -43,6 +43,7 @@ import org.openapitools.codegen.CodegenParameter;
 import org.openapitools.codegen.CodegenProperty;
 import org.openapitools.codegen.CodegenType;
 import org.openapitools.codegen.SupportingFile;
+import org.openapitools.codegen.api.TemplatingEngineAdapter;
 import org.openapitools.codegen.languages.AbstractTypeScriptClientCodegen;
 import org.openapitools.codegen.meta.features.DocumentationFeature;
 import org.openapitools.codegen.meta.features.GlobalFeature;
@@ -56,7 +57,9 @@ import org.openapitools.codegen.utils.SemVer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.servers.Server;
 
 public class YaverTsAngular extends AbstractTypeScriptClientCodegen {
     private final Logger LOGGER = LoggerFactory.getLogger(YaverTsAngular.class);
@@ -108,6 +111,7 @@ public class YaverTsAngular extends AbstractTypeScriptClientCodegen {
     protected PROVIDED_IN_LEVEL providedIn = PROVIDED_IN_LEVEL.root;
 
     private boolean taggedUnions = false;
+    protected boolean skipUnchangedFiles = true;
 
     public YaverTsAngular() {
         super();
@@ -171,6 +175,11 @@ public class YaverTsAngular extends AbstractTypeScriptClientCodegen {
         this.cliOptions.add(
                 new CliOption(QUERY_PARAM_OBJECT_FORMAT, "The format for query param objects: 'dot', 'json', 'key'.")
                         .defaultValue(this.queryParamObjectFormat.name()));
+        this.cliOptions.add(CliOption.newBoolean(GeneratedOutput.SKIP_UNCHANGED_FILES,
+                GeneratedOutput.SKIP_UNCHANGED_FILES_DESC,
+                true));
+        this.cliOptions.add(new CliOption(GenerationProfile.YAVER_PROFILE,
+                GenerationProfile.YAVER_PROFILE_DESC));
     }
 
     @Override
@@ -265,6 +274,11 @@ public class YaverTsAngular extends AbstractTypeScriptClientCodegen {
         }
         writePropertyBack(USE_SINGLE_REQUEST_PARAMETER, getUseSingleRequestParameter());
 
+        if (additionalProperties.containsKey(GeneratedOutput.SKIP_UNCHANGED_FILES)) {
+            this.skipUnchangedFiles = convertPropertyToBoolean(GeneratedOutput.SKIP_UNCHANGED_FILES);
+        }
+        writePropertyBack(GeneratedOutput.SKIP_UNCHANGED_FILES, skipUnchangedFiles);
+
         if (additionalProperties.containsKey(TAGGED_UNIONS)) {
             taggedUnions = Boolean.parseBoolean(additionalProperties.get(TAGGED_UNIONS).toString());
         }
@@ -324,6 +338,36 @@ public class YaverTsAngular extends AbstractTypeScriptClientCodegen {
 
     }
 
+    /**
+     * The template engine is requested before {@link #processOpts()} runs, so
+     * the skip-unchanged switch is read straight from the additional properties.
+     */
+    @Override
+    public TemplatingEngineAdapter getTemplatingEngine() {
+        TemplatingEngineAdapter engine = super.getTemplatingEngine();
+        TemplatingEngineAdapter wrapped = YaverTemplatingEngine.wrap(this, engine, false);
+        if (wrapped != engine) {
+            setTemplatingEngine(wrapped);
+        }
+        return wrapped;
+    }
+
+    private GenerationProfile profile() {
+        return YaverTemplatingEngine.profile(super.getTemplatingEngine());
+    }
+
+    @Override
+    public boolean isEnableMinimalUpdate() {
+        // Unchanged files are handed back as they are; minimal update keeps them (and their mtime).
+        return super.isEnableMinimalUpdate() || GeneratedOutput.isSkipUnchangedRequested(additionalProperties);
+    }
+
+    @Override
+    public void postProcess() {
+        YaverTemplatingEngine.finish(super.getTemplatingEngine());
+        super.postProcess();
+    }
+
     private void addNpmPackageGeneration(SemVer ngVersion) {
 
         if (additionalProperties.containsKey(NPM_REPOSITORY)) {
@@ -492,8 +536,23 @@ public class YaverTsAngular extends AbstractTypeScriptClientCodegen {
         parameter.dataType = applyLocalTypeMapping(parameter.dataType);
     }
 
+    @Override
+    public CodegenModel fromModel(String name, Schema model) {
+        GenerationProfile.Span span = profile().start(GenerationProfile.FROM_MODEL, name);
+        return span.end(super.fromModel(name, model));
+    }
+
+    @Override
+    public CodegenOperation fromOperation(String path, String httpMethod, Operation operation, List<Server> servers) {
+        GenerationProfile.Span span = profile().start(GenerationProfile.FROM_OPERATION,
+                operation.getOperationId() != null ? operation.getOperationId() : path);
+        return span.end(super.fromOperation(path, httpMethod, operation, servers));
+    }
+
     @Override
     public OperationsMap postProcessOperationsWithModels(OperationsMap operations, List<ModelMap> allModels) {
+        GenerationProfile.Span span = profile().start(GenerationProfile.POST_PROCESS_OPERATIONS,
+                GenerationProfile.subject(operations));
         OperationMap objs = operations.getOperations();
 
         // Add filename information for api imports
@@ -558,17 +617,20 @@ public class YaverTsAngular extends AbstractTypeScriptClientCodegen {
             im.put("classname", im.get("classname"));
         }
 
-        return operations;
+        return span.end(operations);
     }
 
     @Override
     public ModelsMap postProcessModels(ModelsMap objs) {
+        GenerationProfile.Span span = profile().start(GenerationProfile.POST_PROCESS_MODELS,
+                GenerationProfile.subject(objs));
         ModelsMap result = super.postProcessModels(objs);
-        return postProcessModelsEnum(result);
+        return span.end(postProcessModelsEnum(result));
     }
 
     @Override
     public Map<String, ModelsMap> postProcessAllModels(Map<String, ModelsMap> objs) {
+        GenerationProfile.Span span = profile().start(GenerationProfile.POST_PROCESS_ALL_MODELS, null);
         Map<String, ModelsMap> result = super.postProcessAllModels(objs);
         for (ModelsMap entry : result.values()) {
             for (ModelMap mo : entry.getModels()) {
@@ -604,7 +666,7 @@ public class YaverTsAngular extends AbstractTypeScriptClientCodegen {
                 mo.put("tsImports", toTsImports(cm, parsedImports));
             }
         }
-        return result;
+        return span.end(result);
     }
 
     private void setChildDiscriminatorValue(CodegenModel parent, CodegenModel child) {
@@ -0,0 +1,222 @@
+package dev.yaver.codegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openapitools.codegen.ClientOptInput;
+import org.openapitools.codegen.CodegenConfig;
+import org.openapitools.codegen.CodegenConfigLoader;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.openapitools.codegen.config.Context;
+import org.openapitools.codegen.config.GeneratorSettings;
+import org.openapitools.codegen.utils.ModelUtils;
+
+import io.swagger.v3.oas.models.OpenAPI;
+
+/**
+ * Validate-only entry point for {@code yaver-cs-gateway} and
+ * {@code yaver-proxy}.
+ *
+ * <p>Runs the generator through {@code DefaultGenerator} with template
+ * rendering switched off: the spec is parsed, normalized and flattened, and
+ * the model and operation post-processing runs, including the RPC bridge
+ * response contract and the validation rule detection, but no generated
+ * file is written. Every response contract violation is reported, not just
+ * the first.
+ * An optional {@code --report} file receives the same JSON/SARIF report as
+ * {@code responseContractValidation=collectAll}.</p>
+ *
+ * <pre>
+ * java -cp yaver-codegen.jar:openapi-generator-cli.jar dev.yaver.codegen.YaverValidate \
+ *     -i openapi.yaml [-g yaver-cs-gateway] [-p key=value[,key=value]] [--report file]
+ * </pre>
+ *
+ * <p>Exit codes: {@code 0} valid, {@code 1} invalid, {@code 2} usage error.</p>
+ */
+public final class YaverValidate {
+    private static final String DEFAULT_GENERATOR = "yaver-cs-gateway";
+    private static final List<String> SUPPORTED_GENERATORS = List.of("yaver-cs-gateway", "yaver-proxy");
+
+    private YaverValidate() {
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+
+    static int run(String[] args) {
+        String generatorName = DEFAULT_GENERATOR;
+        String inputSpec = null;
+        String report = null;
+        Map<String, Object> additionalProperties = new HashMap<>();
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (("-g".equals(arg) || "--generator-name".equals(arg)) && i + 1 < args.length) {
+                generatorName = args[++i];
+            } else if (("-i".equals(arg) || "--input-spec".equals(arg)) && i + 1 < args.length) {
+                inputSpec = args[++i];
+            } else if (("-p".equals(arg) || "--additional-properties".equals(arg)) && i + 1 < args.length) {
+                parseProperties(args[++i], additionalProperties);
+            } else if ("--report".equals(arg) && i + 1 < args.length) {
+                report = args[++i];
+            } else {
+                return usage("Unknown or incomplete argument: " + arg);
+            }
+        }
+        if (inputSpec == null) {
+            return usage("Missing -i <spec>.");
+        }
+        if (!SUPPORTED_GENERATORS.contains(generatorName)) {
+            return usage("Unsupported generator '" + generatorName + "'. Supported: " + SUPPORTED_GENERATORS);
+        }
+
+        Path scratch;
+        try {
+            scratch = Files.createTempDirectory("yaver-validate");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create a scratch output directory", e);
+        }
+        // The generator collects every violation and writes the report; the scratch directory takes
+        // whatever else it keeps between runs (key manifests, fingerprints) and is removed afterwards.
+        additionalProperties.put(ResponseContractReport.RESPONSE_CONTRACT_VALIDATION,
+                ResponseContractReport.COLLECT_ALL);
+        additionalProperties.put(ResponseContractReport.RESPONSE_CONTRACT_REPORT,
+                report != null ? report : scratch.resolve("response-contracts.json").toString());
+
+        long started = System.nanoTime();
+        try {
+            Context<?> context = new CodegenConfigurator()
+                    .setGeneratorName(generatorName)
+                    .setInputSpec(inputSpec)
+                    .setOutputDir(scratch.toString())
+                    .setAdditionalProperties(additionalProperties)
+                    .toContext();
+            OpenAPI openAPI = (OpenAPI) context.getSpecDocument();
+            GeneratorSettings settings = context.getGeneratorSettings();
+            CodegenConfig config = CodegenConfigLoader.forName(generatorName);
+            config.setInputSpec(inputSpec);
+            config.setOutputDir(scratch.toString());
+            config.additionalProperties().putAll(settings.getAdditionalProperties());
+
+            ClientOptInput input = new ClientOptInput()
+                    .config(config)
+                    .generatorSettings(settings)
+                    .openAPI(openAPI);
+            RuntimeException failure = null;
+            try {
+                new ValidatingGenerator().opts(input).generate();
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            Map<String, List<ResponseContractViolation>> violations = violations(config);
+            int violationCount = violations.values().stream().mapToInt(List::size).sum();
+            if (violationCount > 0) {
+                String spec = inputSpec;
+                violations.forEach((tag, tagViolations) -> tagViolations.forEach(violation ->
+                        System.err.println(spec + ": " + violation.httpMethod() + " " + violation.path()
+                                + " (" + violation.operationId() + ")"
+                                + (violation.responseCode() == null ? "" : " [" + violation.responseCode() + "]")
+                                + " " + violation.rule() + ": " + violation.getMessage())));
+                System.err.println(generatorName + ": " + violationCount + " response contract violation"
+                        + (violationCount == 1 ? "" : "s") + " in " + elapsed + " ms.");
+                return 1;
+            }
+            if (failure != null) {
+                System.err.println(inputSpec + ": " + rootCauseMessage(failure));
+                return 1;
+            }
+
+            System.out.println(generatorName + ": " + operationCount(openAPI) + " operations and "
+                    + ModelUtils.getSchemas(openAPI).size() + " models valid in " + elapsed + " ms.");
+            return 0;
+        } catch (RuntimeException e) {
+            System.err.println(inputSpec + ": " + rootCauseMessage(e));
+            return 1;
+        } finally {
+            deleteRecursively(scratch);
+        }
+    }
+
+    private static int usage(String message) {
+        System.err.println(message);
+        System.err.println("Usage: YaverValidate -i <spec> [-g " + String.join("|", SUPPORTED_GENERATORS)
+                + "] [-p key=value[,key=value]] [--report <file.json|file.sarif>]");
+        return 2;
+    }
+
+    private static void parseProperties(String value, Map<String, Object> additionalProperties) {
+        for (String pair : value.split(",")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                additionalProperties.put(pair.substring(0, separator).trim(), pair.substring(separator + 1).trim());
+            }
+        }
+    }
+
+    /**
+     * The violations the generator collected, empty when it never got to
+     * the operations.
+     */
+    private static Map<String, List<ResponseContractViolation>> violations(CodegenConfig config) {
+        ResponseContractReport report = config instanceof YaverCsGateway gateway ? gateway.responseContractReport()
+                : config instanceof YaverProxyCodegen proxy ? proxy.responseContractReport()
+                : null;
+        return report == null ? Map.of() : report.violations();
+    }
+
+    private static int operationCount(OpenAPI openAPI) {
+        return openAPI.getPaths() == null ? 0 : openAPI.getPaths().values().stream()
+                .mapToInt(path -> path.readOperations().size())
+                .sum();
+    }
+
+    /**
+     * The generator wraps failures per file ("Could not generate api file
+     * for ..."); the innermost message names the actual problem.
+     */
+    private static String rootCauseMessage(Throwable failure) {
+        Throwable cause = failure;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage() != null ? cause.getMessage() : cause.toString();
+    }
+
+    private static void deleteRecursively(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            // Only a temporary directory is left behind.
+        }
+    }
+
+    /**
+     * Runs the whole generator pipeline (normalizer, inline model resolver,
+     * model and operation post-processing) but renders and writes no
+     * template.
+     */
+    private static final class ValidatingGenerator extends DefaultGenerator {
+        ValidatingGenerator() {
+            setGenerateMetadata(false);
+        }
+
+        @Override
+        protected File processTemplateToFile(Map<String, Object> templateData, String templateName,
+                String outputFilename, boolean shouldGenerate, String skippedByOption) {
+            return null;
+        }
+    }
+}